@@ -0,0 +1,83 @@
+package com.vitorbastosbn.nutricionista.benchmark;
+
+import com.vitorbastosbn.nutricionista.service.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de verificação de um access token por algoritmo de assinatura, com o parser já montado,
+ * como no {@code JwtTokenProvider}.
+ *
+ * <p>Execução: {@code mvn -Pjmh test-compile exec:exec -Djmh.args="JwtSignatureBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSignatureBenchmark {
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    private String algorithm;
+
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        var builder = Jwts.builder()
+                .header().keyId("benchmark").and()
+                .id(UUID.randomUUID().toString())
+                .subject("nutricionista@example.com")
+                .issuedAt(Date.from(Instant.now()))
+                .expiration(Date.from(Instant.now().plusSeconds(3600)))
+                .claim("type", VerifiedToken.ACCESS_TYPE)
+                .claim("roles", List.of("ROLE_NUTRICIONISTA"));
+
+        switch (algorithm) {
+            case "HS256" -> {
+                SecretKey key = Jwts.SIG.HS256.key().build();
+                token = builder.signWith(key).compact();
+                parser = Jwts.parser().verifyWith(key).build();
+            }
+            case "ES256" -> {
+                KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+                token = builder.signWith(keyPair.getPrivate()).compact();
+                parser = Jwts.parser().verifyWith(keyPair.getPublic()).build();
+            }
+            case "EdDSA" -> {
+                KeyPair keyPair = Jwks.CRV.Ed25519.keyPair().build();
+                token = builder.signWith(keyPair.getPrivate()).compact();
+                parser = Jwts.parser().verifyWith(keyPair.getPublic()).build();
+            }
+            default -> throw new IllegalStateException("Algoritmo JWT não suportado: " + algorithm);
+        }
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+}
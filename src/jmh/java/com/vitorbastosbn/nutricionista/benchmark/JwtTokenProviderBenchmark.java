@@ -0,0 +1,111 @@
+package com.vitorbastosbn.nutricionista.benchmark;
+
+import com.vitorbastosbn.nutricionista.service.JwtKeyStore;
+import com.vitorbastosbn.nutricionista.service.JwtTokenProvider;
+import com.vitorbastosbn.nutricionista.service.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens/s na emissão e verificação de access tokens HS256: o provider com chave e parser
+ * montados na inicialização contra a derivação de chave e montagem do parser a cada chamada.
+ *
+ * <p>Execução: {@code mvn -Pjmh test-compile exec:exec -Djmh.args="JwtTokenProviderBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "my-super-secret-key-that-is-at-least-32-characters-long-for-hs256";
+
+    private JwtTokenProvider provider;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(new JwtKeyStore());
+        ReflectionTestUtils.setField(provider, "algorithm", "HS256");
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "activeKeyId", "default");
+        ReflectionTestUtils.setField(provider, "previousKeys", new String[0]);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 3600L);
+        ReflectionTestUtils.setField(provider, "refreshTokenExpiration", 604800L);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+
+        userDetails = User.withUsername("nutricionista@example.com")
+                .password("")
+                .roles("NUTRICIONISTA")
+                .build();
+        token = provider.generateAccessToken(userDetails);
+    }
+
+    @Benchmark
+    public String generatePrecomputedKey() {
+        return provider.generateAccessToken(userDetails);
+    }
+
+    @Benchmark
+    public VerifiedToken verifySharedParser() {
+        return provider.verify(token);
+    }
+
+    @Benchmark
+    public String generateKeyPerCall() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("type", VerifiedToken.ACCESS_TYPE);
+        claims.put("roles", userDetails.getAuthorities().stream().map(Object::toString).toList());
+
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(userDetails.getUsername())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(3600)))
+                .claims(claims)
+                .signWith(hmacKey())
+                .compact();
+    }
+
+    @Benchmark
+    public Claims verifyParserPerCall() {
+        return Jwts.parser()
+                .verifyWith(hmacKey())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static SecretKey hmacKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,37 @@
+package com.vitorbastosbn.nutricionista.config;
+
+import com.vitorbastosbn.nutricionista.service.AuthorizationMetrics;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.ParameterNameDiscoverer;
+
+import java.lang.reflect.Method;
+
+/**
+ * Contexto de avaliação de uma verificação de método que sabe a qual endpoint pertence e quando começou,
+ * para que a expressão registre a latência ao produzir o resultado.
+ */
+class AuthorizationEvaluationContext extends MethodBasedEvaluationContext {
+
+    private final AuthorizationMetrics.Endpoint endpoint;
+    private final long startNanos;
+    private boolean recorded;
+
+    AuthorizationEvaluationContext(Object rootObject, Method method, Object[] arguments,
+                                   ParameterNameDiscoverer parameterNameDiscoverer,
+                                   AuthorizationMetrics.Endpoint endpoint, long startNanos) {
+        super(rootObject, method, arguments, parameterNameDiscoverer);
+        this.endpoint = endpoint;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Registra só a primeira avaliação: em {@code @PreFilter}/{@code @PostFilter} o mesmo contexto
+     * avalia a expressão uma vez por elemento.
+     */
+    void record(boolean granted) {
+        if (!recorded) {
+            recorded = true;
+            endpoint.record(System.nanoTime() - startNanos, granted);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.vitorbastosbn.nutricionista.config;
+
+import com.vitorbastosbn.nutricionista.service.AuthorizationMetrics;
+import com.vitorbastosbn.nutricionista.service.AuthorizationMetrics.EvaluationMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.authorization.AuthorizationResult;
+
+import java.util.function.Function;
+
+/**
+ * Expressão de {@code @PreAuthorize} compilada em bytecode logo após a primeira avaliação, quando o
+ * SpEL já conhece os tipos envolvidos.
+ *
+ * <p>Expressões que o SpEL não sabe compilar continuam interpretadas. Se o código compilado falhar
+ * depois (por exemplo, um principal de outro tipo que o da primeira avaliação), a expressão passa a ser
+ * interpretada de vez e a avaliação é refeita, sem propagar o erro. Cada avaliação feita em um
+ * {@link AuthorizationEvaluationContext} registra a latência do endpoint.
+ */
+@Slf4j
+final class CompiledAuthorizationExpression implements Expression {
+
+    private final String expressionString;
+    private final String resolvedExpressionString;
+    private final SpelExpressionParser interpretingParser;
+    private final AuthorizationMetrics metrics;
+
+    private volatile Expression delegate;
+    private volatile boolean compileAttempted;
+    private boolean fellBack;
+
+    /**
+     * @param expressionString texto da anotação, usado nas métricas e nos logs
+     * @param expression       expressão analisada, já com as permissões resolvidas
+     */
+    CompiledAuthorizationExpression(String expressionString, SpelExpression expression, boolean compile,
+                                    SpelExpressionParser interpretingParser, AuthorizationMetrics metrics) {
+        this.expressionString = expressionString;
+        this.resolvedExpressionString = expression.getExpressionString();
+        this.interpretingParser = interpretingParser;
+        this.metrics = metrics;
+        this.delegate = expression;
+        this.compileAttempted = !compile;
+        metrics.expressionMode(expressionString, EvaluationMode.INTERPRETED);
+    }
+
+    @Override
+    public String getExpressionString() {
+        return expressionString;
+    }
+
+    @Override
+    public Object getValue() throws EvaluationException {
+        return evaluate(null, Expression::getValue);
+    }
+
+    @Override
+    public <T> T getValue(Class<T> desiredResultType) throws EvaluationException {
+        return evaluate(null, expression -> expression.getValue(desiredResultType));
+    }
+
+    @Override
+    public Object getValue(Object rootObject) throws EvaluationException {
+        return evaluate(null, expression -> expression.getValue(rootObject));
+    }
+
+    @Override
+    public <T> T getValue(Object rootObject, Class<T> desiredResultType) throws EvaluationException {
+        return evaluate(null, expression -> expression.getValue(rootObject, desiredResultType));
+    }
+
+    @Override
+    public Object getValue(EvaluationContext context) throws EvaluationException {
+        return evaluate(context, expression -> expression.getValue(context));
+    }
+
+    @Override
+    public Object getValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+        return evaluate(context, expression -> expression.getValue(context, rootObject));
+    }
+
+    @Override
+    public <T> T getValue(EvaluationContext context, Class<T> desiredResultType) throws EvaluationException {
+        return evaluate(context, expression -> expression.getValue(context, desiredResultType));
+    }
+
+    @Override
+    public <T> T getValue(EvaluationContext context, Object rootObject, Class<T> desiredResultType)
+            throws EvaluationException {
+        return evaluate(context, expression -> expression.getValue(context, rootObject, desiredResultType));
+    }
+
+    @Override
+    public Class<?> getValueType() throws EvaluationException {
+        return delegate.getValueType();
+    }
+
+    @Override
+    public Class<?> getValueType(Object rootObject) throws EvaluationException {
+        return delegate.getValueType(rootObject);
+    }
+
+    @Override
+    public Class<?> getValueType(EvaluationContext context) throws EvaluationException {
+        return delegate.getValueType(context);
+    }
+
+    @Override
+    public Class<?> getValueType(EvaluationContext context, Object rootObject) throws EvaluationException {
+        return delegate.getValueType(context, rootObject);
+    }
+
+    @Override
+    public TypeDescriptor getValueTypeDescriptor() throws EvaluationException {
+        return delegate.getValueTypeDescriptor();
+    }
+
+    @Override
+    public TypeDescriptor getValueTypeDescriptor(Object rootObject) throws EvaluationException {
+        return delegate.getValueTypeDescriptor(rootObject);
+    }
+
+    @Override
+    public TypeDescriptor getValueTypeDescriptor(EvaluationContext context) throws EvaluationException {
+        return delegate.getValueTypeDescriptor(context);
+    }
+
+    @Override
+    public TypeDescriptor getValueTypeDescriptor(EvaluationContext context, Object rootObject) throws EvaluationException {
+        return delegate.getValueTypeDescriptor(context, rootObject);
+    }
+
+    @Override
+    public boolean isWritable(Object rootObject) throws EvaluationException {
+        return delegate.isWritable(rootObject);
+    }
+
+    @Override
+    public boolean isWritable(EvaluationContext context) throws EvaluationException {
+        return delegate.isWritable(context);
+    }
+
+    @Override
+    public boolean isWritable(EvaluationContext context, Object rootObject) throws EvaluationException {
+        return delegate.isWritable(context, rootObject);
+    }
+
+    @Override
+    public void setValue(Object rootObject, Object value) throws EvaluationException {
+        delegate.setValue(rootObject, value);
+    }
+
+    @Override
+    public void setValue(EvaluationContext context, Object value) throws EvaluationException {
+        delegate.setValue(context, value);
+    }
+
+    @Override
+    public void setValue(EvaluationContext context, Object rootObject, Object value) throws EvaluationException {
+        delegate.setValue(context, rootObject, value);
+    }
+
+    @Override
+    public String toString() {
+        return expressionString;
+    }
+
+    private <T> T evaluate(EvaluationContext context, Function<Expression, T> evaluation) {
+        T result;
+        try {
+            result = evaluation.apply(delegate);
+        } catch (SpelEvaluationException ex) {
+            if (ex.getMessageCode() != SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION) {
+                throw ex;
+            }
+            fallBack(ex);
+            result = evaluation.apply(delegate);
+        }
+
+        if (!compileAttempted) {
+            compile();
+        }
+        if (context instanceof AuthorizationEvaluationContext authorizationContext) {
+            authorizationContext.record(isGranted(result));
+        }
+        return result;
+    }
+
+    private synchronized void compile() {
+        if (compileAttempted) {
+            return;
+        }
+        compileAttempted = true;
+        if (delegate instanceof SpelExpression expression && expression.compileExpression()) {
+            metrics.expressionMode(expressionString, EvaluationMode.COMPILED);
+            log.debug("Expressão de autorização compilada: {}", expressionString);
+        } else {
+            // Sem modo IMMEDIATE, o SpEL não tenta compilar de novo a cada avaliação
+            delegate = interpretingParser.parseExpression(resolvedExpressionString);
+            log.debug("Expressão de autorização não compilável, segue interpretada: {}", expressionString);
+        }
+    }
+
+    private synchronized void fallBack(SpelEvaluationException ex) {
+        compileAttempted = true;
+        if (fellBack) {
+            return;
+        }
+        fellBack = true;
+        delegate = interpretingParser.parseExpression(resolvedExpressionString);
+        metrics.expressionMode(expressionString, EvaluationMode.FALLBACK);
+        log.warn("Expressão de autorização '{}' voltou a ser interpretada após falha do código compilado: {}",
+                expressionString, ex.getCause() != null ? ex.getCause().toString() : ex.getMessage());
+    }
+
+    private static boolean isGranted(Object result) {
+        if (result instanceof Boolean granted) {
+            return granted;
+        }
+        if (result instanceof AuthorizationResult authorization) {
+            return authorization.isGranted();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,95 @@
+package com.vitorbastosbn.nutricionista.config;
+
+import com.vitorbastosbn.nutricionista.service.AuthorizationMetrics;
+import com.vitorbastosbn.nutricionista.service.Permission;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parser das expressões de segurança de métodos com cache por texto da expressão.
+ *
+ * <p>O Spring Security já guarda a expressão analisada de cada método; o cache aqui faz com que
+ * métodos com a mesma regra ({@code can('USER_READ')} em vários endpoints) compartilhem uma única
+ * expressão e, portanto, uma única classe compilada.
+ *
+ * <p>Os nomes em {@code can('...')} e {@code canAny('...', ...)} são resolvidos aqui, na análise: cada
+ * literal vira a constante de {@link Permission} correspondente, e um nome desconhecido é recusado já na
+ * primeira análise da anotação, em vez de falhar em cada requisição.
+ */
+public class CompilingExpressionParser implements ExpressionParser {
+
+    private static final Pattern PERMISSION_CALL = Pattern.compile("(?<![\\w.#])(can|canAny)\\(([^()]*)\\)");
+    private static final Pattern PERMISSION_LITERAL = Pattern.compile("'([^']*)'");
+    private static final String PERMISSION_TYPE = "T(" + Permission.class.getName() + ").";
+
+    private final SpelExpressionParser compilingParser;
+    private final SpelExpressionParser interpretingParser;
+    private final AuthorizationMetrics metrics;
+    private final boolean compile;
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    public CompilingExpressionParser(AuthorizationMetrics metrics, boolean compile, ClassLoader classLoader) {
+        this.compilingParser = new SpelExpressionParser(
+                new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, classLoader));
+        this.interpretingParser = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.OFF, classLoader));
+        this.metrics = metrics;
+        this.compile = compile;
+    }
+
+    @Override
+    public Expression parseExpression(String expressionString) throws ParseException {
+        return expressions.computeIfAbsent(expressionString, this::parse);
+    }
+
+    @Override
+    public Expression parseExpression(String expressionString, ParserContext context) throws ParseException {
+        if (context == null || !context.isTemplate()) {
+            return parseExpression(expressionString);
+        }
+        // Templates não aparecem em anotações de segurança; seguem o caminho padrão, sem cache
+        return interpretingParser.parseExpression(expressionString, context);
+    }
+
+    private Expression parse(String expressionString) {
+        SpelExpressionParser parser = compile ? compilingParser : interpretingParser;
+        SpelExpression expression = parser.parseRaw(resolvePermissions(expressionString));
+        return new CompiledAuthorizationExpression(expressionString, expression, compile, interpretingParser, metrics);
+    }
+
+    /**
+     * Troca {@code can('USER_READ')} por {@code can(T(...Permission).USER_READ)}.
+     */
+    private static String resolvePermissions(String expressionString) {
+        Matcher call = PERMISSION_CALL.matcher(expressionString);
+        StringBuilder resolved = new StringBuilder(expressionString.length());
+        while (call.find()) {
+            Matcher literal = PERMISSION_LITERAL.matcher(call.group(2));
+            StringBuilder arguments = new StringBuilder();
+            while (literal.find()) {
+                String name = literal.group(1);
+                try {
+                    Permission.valueOf(name);
+                } catch (IllegalArgumentException ex) {
+                    throw new ParseException(expressionString, call.start(2) + literal.start(),
+                            "Permissão desconhecida: " + name);
+                }
+                literal.appendReplacement(arguments, Matcher.quoteReplacement(PERMISSION_TYPE + name));
+            }
+            literal.appendTail(arguments);
+            call.appendReplacement(resolved, Matcher.quoteReplacement(call.group(1) + "(" + arguments + ")"));
+        }
+        call.appendTail(resolved);
+        return resolved.toString();
+    }
+}
@@ -1,6 +1,12 @@
 package com.vitorbastosbn.nutricionista.config;
 
+import com.vitorbastosbn.nutricionista.entity.User;
 import com.vitorbastosbn.nutricionista.service.JwtTokenProvider;
+import com.vitorbastosbn.nutricionista.service.TokenRevocationService;
+import com.vitorbastosbn.nutricionista.service.UserDetailsSnapshot;
+import com.vitorbastosbn.nutricionista.service.UserPrincipal;
+import com.vitorbastosbn.nutricionista.service.VerifiedToken;
+import com.vitorbastosbn.nutricionista.service.VerifiedTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +29,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
     private final UserDetailsService userDetailsService;
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
@@ -38,18 +46,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = extractJwtFromRequest(request);
 
             if (StringUtils.hasText(jwt)) {
-                String username = jwtTokenProvider.extractUsername(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                VerifiedToken token = verifiedTokenCache.verify(jwt);
 
-                if (jwtTokenProvider.validateToken(jwt, userDetails)) {
+                if (token.isAccessToken() && tokenRevocationService.isRevoked(token.tokenId())) {
+                    log.debug("Access token revogado apresentado por usuario: {}", token.subject());
+                } else if (token.isAccessToken()) {
+                    UserPrincipal principal = resolvePrincipal(token);
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
-                                    userDetails, null, userDetails.getAuthorities());
+                                    principal, null, principal.authorityList());
                     authentication.setDetails(
                             new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
-                    log.debug("Set Spring Security authentication para usuario: {}", username);
+                    log.debug("Set Spring Security authentication para usuario: {}", principal.email());
                 }
             }
         } catch (Exception ex) {
@@ -59,6 +69,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserPrincipal resolvePrincipal(VerifiedToken token) {
+        if (jwtTokenProvider.isClaimsTrusted()) {
+            return jwtTokenProvider.toPrincipal(token);
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(token.subject());
+        if (userDetails instanceof UserDetailsSnapshot snapshot) {
+            return snapshot.principal();
+        }
+        if (userDetails instanceof User user) {
+            return UserPrincipal.from(user);
+        }
+        throw new IllegalStateException("UserDetails não suportado: " + userDetails.getClass().getName());
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
 
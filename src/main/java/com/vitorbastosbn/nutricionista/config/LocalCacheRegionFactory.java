@@ -0,0 +1,264 @@
+package com.vitorbastosbn.nutricionista.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Provedor local (em memória, por nó) do cache de segundo nível do Hibernate.
+ *
+ * <p>Cada região é um cache LRU limitado a {@code hibernate.cache.local.max-entries} entradas,
+ * dividido em segmentos com lock e capacidade próprios, com contadores de acerto e falha. A consistência
+ * fica a cargo das estratégias de acesso do próprio Hibernate ({@code READ_WRITE} com soft locks).
+ *
+ * <p><b>Somente um nó.</b> As invalidações (escritas do Hibernate e
+ * {@link com.vitorbastosbn.nutricionista.service.EntityCacheService}) valem apenas para a JVM que fez a
+ * alteração. Com várias réplicas, uma role renomeada ou removida, ou roles de usuários alteradas em outro
+ * nó, continuam em cache aqui até expirarem: cada entrada vive no máximo
+ * {@code hibernate.cache.local.ttl-seconds}, que é a janela de desatualização entre nós.
+ *
+ * <p>Um soft lock marca uma entrada sendo alterada por uma transação em andamento; se ele saísse do
+ * cache, outra sessão poderia gravar ali um valor antigo lido antes do commit. Por isso a remoção por
+ * capacidade e a expiração pulam os soft locks, e a remoção leva a entrada comum menos usada. A região de
+ * timestamps do query cache também não expira: perder um timestamp faria resultados antigos parecerem
+ * atuais. O provedor usual seria hibernate-jcache com Caffeine (com TTL e, entre nós, um cache
+ * distribuído), que não faz parte das dependências do projeto.
+ */
+public class LocalCacheRegionFactory extends RegionFactoryTemplate {
+
+    public static final String MAX_ENTRIES_SETTING = "hibernate.cache.local.max-entries";
+    public static final String TTL_SECONDS_SETTING = "hibernate.cache.local.ttl-seconds";
+
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+    private static final long DEFAULT_TTL_SECONDS = 60;
+    private static final long NO_EXPIRATION = 0;
+    private static final int SEGMENTS = 16;
+
+    private final Map<String, LocalStorage> regions = new ConcurrentHashMap<>();
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+    private long ttlNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TTL_SECONDS);
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        Object configured = configValues.get(MAX_ENTRIES_SETTING);
+        if (configured != null) {
+            maxEntries = Integer.parseInt(configured.toString());
+        }
+        Object ttl = configValues.get(TTL_SECONDS_SETTING);
+        if (ttl != null) {
+            ttlNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(ttl.toString()));
+        }
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(LocalStorage::release);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(
+            DomainDataRegionConfig regionConfig, DomainDataRegionBuildingContext buildingContext) {
+        return register(regionConfig.getRegionName(), maxEntries, ttlNanos);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return register(regionName, maxEntries, ttlNanos);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        // Uma entrada por tabela: não precisa de limite, e não pode expirar
+        return register(regionName, Integer.MAX_VALUE, NO_EXPIRATION);
+    }
+
+    public List<RegionStats> stats() {
+        return regions.entrySet().stream()
+                .map(entry -> entry.getValue().stats(entry.getKey()))
+                .sorted((left, right) -> left.region().compareTo(right.region()))
+                .toList();
+    }
+
+    private LocalStorage register(String regionName, int capacity, long ttlNanos) {
+        return regions.computeIfAbsent(regionName, name -> new LocalStorage(capacity, ttlNanos));
+    }
+
+    /**
+     * Estatísticas de uma região do cache.
+     */
+    public record RegionStats(
+            String region,
+            long entries,
+            long hits,
+            long misses,
+            long puts,
+            long evictions,
+            long expirations,
+            double hitRatio
+    ) {
+    }
+
+    private static final class LocalStorage implements DomainDataStorageAccess {
+
+        private final Segment[] segments = new Segment[SEGMENTS];
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder puts = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder expirations = new LongAdder();
+
+        private LocalStorage(int capacity, long ttlNanos) {
+            int segmentCapacity = Math.max(1, capacity / SEGMENTS);
+            for (int i = 0; i < SEGMENTS; i++) {
+                segments[i] = new Segment(segmentCapacity, ttlNanos, expirations);
+            }
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            Object value = segmentFor(key).get(key);
+            (value != null ? hits : misses).increment();
+            return value;
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            if (segmentFor(key).put(key, value)) {
+                evictions.increment();
+            }
+            puts.increment();
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return segmentFor(key).contains(key);
+        }
+
+        @Override
+        public void evictData() {
+            for (Segment segment : segments) {
+                segment.clear();
+            }
+        }
+
+        @Override
+        public void evictData(Object key) {
+            segmentFor(key).remove(key);
+        }
+
+        @Override
+        public void release() {
+            evictData();
+        }
+
+        private Segment segmentFor(Object key) {
+            return segments[(key.hashCode() & Integer.MAX_VALUE) % SEGMENTS];
+        }
+
+        private RegionStats stats(String region) {
+            long size = 0;
+            for (Segment segment : segments) {
+                size += segment.size();
+            }
+            long hitCount = hits.sum();
+            long missCount = misses.sum();
+            long requests = hitCount + missCount;
+            double hitRatio = requests == 0 ? 0.0 : (double) hitCount / requests;
+            return new RegionStats(region, size, hitCount, missCount, puts.sum(), evictions.sum(), expirations.sum(), hitRatio);
+        }
+    }
+
+    private static final class Segment {
+
+        private final int capacity;
+        private final long ttlNanos;
+        private final LongAdder expirations;
+        // Ordem de acesso: as primeiras entradas são as menos usadas
+        private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private Segment(int capacity, long ttlNanos, LongAdder expirations) {
+            this.capacity = capacity;
+            this.ttlNanos = ttlNanos;
+            this.expirations = expirations;
+        }
+
+        synchronized Object get(Object key) {
+            Entry entry = live(key);
+            return entry != null ? entry.value() : null;
+        }
+
+        /**
+         * Grava a entrada e, acima da capacidade, remove a entrada menos usada que não seja um soft lock.
+         * Retorna verdadeiro se houve remoção.
+         */
+        synchronized boolean put(Object key, Object value) {
+            long expiresAt = ttlNanos == NO_EXPIRATION || value instanceof SoftLock
+                    ? NO_EXPIRATION
+                    : System.nanoTime() + ttlNanos;
+            if (entries.put(key, new Entry(value, expiresAt)) != null || entries.size() <= capacity) {
+                return false;
+            }
+            Iterator<Map.Entry<Object, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Object, Entry> eldest = iterator.next();
+                if (!(eldest.getValue().value() instanceof SoftLock) && !eldest.getKey().equals(key)) {
+                    iterator.remove();
+                    return true;
+                }
+            }
+            // Só restam soft locks: a região excede a capacidade até as transações terminarem
+            return false;
+        }
+
+        synchronized boolean contains(Object key) {
+            return live(key) != null;
+        }
+
+        /**
+         * Entrada ainda válida, removendo-a se já expirou.
+         */
+        private Entry live(Object key) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() != NO_EXPIRATION && System.nanoTime() - entry.expiresAt() >= 0) {
+                entries.remove(key);
+                expirations.increment();
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized void remove(Object key) {
+            entries.remove(key);
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Valor em cache e o instante ({@link System#nanoTime()}) em que expira, ou {@link #NO_EXPIRATION}.
+     */
+    private record Entry(Object value, long expiresAt) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.vitorbastosbn.nutricionista.config;
+
+import com.vitorbastosbn.nutricionista.service.AuthorizationMetrics;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Handler das expressões de segurança de métodos que usa {@link PermissionSecurityExpressionRoot}
+ * como raiz, preservando a fábrica de autorização (hierarquia de roles) e o resolvedor de beans configurados.
+ *
+ * <p>As expressões vêm de {@link CompilingExpressionParser} e são compiladas em bytecode. O que a
+ * avaliação precisa de cada método (método da classe alvo, nomes dos parâmetros e contadores do
+ * endpoint) é resolvido uma vez e reaproveitado, então o custo por chamada fica na criação da raiz
+ * e do contexto e na execução da expressão compilada.
+ */
+public class PermissionMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    private static final String[] NO_PARAMETER_NAMES = new String[0];
+
+    private final AuthorizationMetrics metrics;
+    private final Map<MethodClassKey, MethodAuthorization> methods = new ConcurrentHashMap<>();
+    private final ParameterNameDiscoverer cachedParameterNames = new CachedParameterNameDiscoverer();
+
+    public PermissionMethodSecurityExpressionHandler(AuthorizationMetrics metrics, boolean compileExpressions) {
+        this.metrics = metrics;
+        setExpressionParser(new CompilingExpressionParser(
+                metrics, compileExpressions, PermissionMethodSecurityExpressionHandler.class.getClassLoader()));
+    }
+
+    @Override
+    public EvaluationContext createEvaluationContext(Supplier<? extends Authentication> authentication, MethodInvocation invocation) {
+        long start = System.nanoTime();
+        MethodAuthorization authorization = methodAuthorization(invocation);
+        AuthorizationEvaluationContext context = new AuthorizationEvaluationContext(
+                createRoot(authentication, invocation), authorization.method(), invocation.getArguments(),
+                cachedParameterNames, authorization.endpoint(), start);
+        BeanResolver beanResolver = getBeanResolver();
+        if (beanResolver != null) {
+            context.setBeanResolver(beanResolver);
+        }
+        return context;
+    }
+
+    @Override
+    protected MethodSecurityExpressionOperations createSecurityExpressionRoot(Authentication authentication, MethodInvocation invocation) {
+        return createRoot(() -> authentication, invocation);
+    }
+
+    private PermissionSecurityExpressionRoot createRoot(Supplier<? extends Authentication> authentication, MethodInvocation invocation) {
+        PermissionSecurityExpressionRoot root = new PermissionSecurityExpressionRoot(authentication, invocation);
+        root.setAuthorizationManagerFactory(getAuthorizationManagerFactory());
+        root.setPermissionEvaluator(getPermissionEvaluator());
+        return root;
+    }
+
+    private MethodAuthorization methodAuthorization(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null
+                ? AopProxyUtils.ultimateTargetClass(target)
+                : invocation.getMethod().getDeclaringClass();
+        return methods.computeIfAbsent(new MethodClassKey(invocation.getMethod(), targetClass), key -> {
+            // Método da classe alvo (não do proxy), para que os nomes dos parâmetros fiquem disponíveis como #nome
+            Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+            String endpoint = ClassUtils.getUserClass(targetClass).getSimpleName() + "." + method.getName();
+            return new MethodAuthorization(method, metrics.endpoint(endpoint));
+        });
+    }
+
+    private record MethodAuthorization(Method method, AuthorizationMetrics.Endpoint endpoint) {
+    }
+
+    /**
+     * Nomes dos parâmetros resolvidos uma vez por método; o padrão os lê por reflexão a cada avaliação.
+     */
+    private final class CachedParameterNameDiscoverer implements ParameterNameDiscoverer {
+
+        private final Map<Method, String[]> names = new ConcurrentHashMap<>();
+
+        @Override
+        public String[] getParameterNames(Method method) {
+            String[] cached = names.computeIfAbsent(method, key -> {
+                String[] discovered = getParameterNameDiscoverer().getParameterNames(key);
+                return discovered != null ? discovered : NO_PARAMETER_NAMES;
+            });
+            return cached == NO_PARAMETER_NAMES ? null : cached;
+        }
+
+        @Override
+        public String[] getParameterNames(Constructor<?> constructor) {
+            return getParameterNameDiscoverer().getParameterNames(constructor);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.vitorbastosbn.nutricionista.config;
+
+import com.vitorbastosbn.nutricionista.service.Permission;
+import com.vitorbastosbn.nutricionista.service.UserPrincipal;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.security.access.expression.SecurityExpressionRoot;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * Raiz das expressões de {@code @PreAuthorize}: mantém {@code hasRole}, {@code principal} e demais
+ * funções padrão e acrescenta {@code can('PERMISSAO')} e {@code canAny(...)}, que consultam o bitset
+ * de permissões do {@link UserPrincipal}. Os nomes chegam já resolvidos em {@link Permission} por
+ * {@link CompilingExpressionParser}.
+ */
+public class PermissionSecurityExpressionRoot extends SecurityExpressionRoot<MethodInvocation>
+        implements MethodSecurityExpressionOperations {
+
+    private final Object target;
+    private Object filterObject;
+    private Object returnObject;
+
+    public PermissionSecurityExpressionRoot(Supplier<? extends Authentication> authentication, MethodInvocation invocation) {
+        super(authentication, invocation);
+        this.target = invocation.getThis();
+    }
+
+    /**
+     * Verdadeiro se o usuário tem a permissão, concedida diretamente ou herdada pela hierarquia de roles.
+     */
+    public boolean can(Permission permission) {
+        return getPrincipal() instanceof UserPrincipal principal && principal.hasPermission(permission);
+    }
+
+    public boolean canAny(Permission... permissions) {
+        if (!(getPrincipal() instanceof UserPrincipal principal)) {
+            return false;
+        }
+        for (Permission permission : permissions) {
+            if (principal.hasPermission(permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void setFilterObject(Object filterObject) {
+        this.filterObject = filterObject;
+    }
+
+    @Override
+    public Object getFilterObject() {
+        return filterObject;
+    }
+
+    @Override
+    public void setReturnObject(Object returnObject) {
+        this.returnObject = returnObject;
+    }
+
+    @Override
+    public Object getReturnObject() {
+        return returnObject;
+    }
+
+    @Override
+    public Object getThis() {
+        return target;
+    }
+}
@@ -6,12 +6,16 @@ import com.vitorbastosbn.nutricionista.domain.dto.request.RegisterRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.request.RefreshTokenRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.response.AuthResponse;
 import com.vitorbastosbn.nutricionista.service.AuthService;
+import com.vitorbastosbn.nutricionista.service.LoginRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -20,12 +24,21 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class AuthController implements AuthControllerAPI {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @Override
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody @Valid LoginRequest loginRequest) {
+    public ResponseEntity<AuthResponse> login(
+            @RequestBody @Valid LoginRequest loginRequest,
+            HttpServletRequest request) {
+        // O limite é verificado antes da transação do login, sem ocupar conexão nem thread de hashing.
+        // Atrás de um proxy confiável, getRemoteAddr já traz o IP do cliente (server.forward-headers-strategy)
+        loginRateLimiter.acquire(loginRequest.email(), request.getRemoteAddr());
         AuthResponse response = authService.login(loginRequest);
+        loginRateLimiter.onSuccess(loginRequest.email());
         return ResponseEntity.ok(response);
     }
 
@@ -43,6 +56,18 @@ public class AuthController implements AuthControllerAPI {
         return ResponseEntity.ok(response);
     }
 
+    @Override
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestBody @Valid RefreshTokenRequest refreshTokenRequest,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith(BEARER_PREFIX)
+                ? authorization.substring(BEARER_PREFIX.length())
+                : null;
+        authService.logout(refreshTokenRequest, accessToken);
+        return ResponseEntity.noContent().build();
+    }
+
 }
 
 
@@ -0,0 +1,29 @@
+package com.vitorbastosbn.nutricionista.controller;
+
+import com.vitorbastosbn.nutricionista.controller.doc.JwksControllerAPI;
+import com.vitorbastosbn.nutricionista.service.JwtTokenProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+@RequiredArgsConstructor
+public class JwksController implements JwksControllerAPI {
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Override
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<String> getJwks() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwtTokenProvider.getPublicJwkSetJson());
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.vitorbastosbn.nutricionista.controller;
+
+import com.vitorbastosbn.nutricionista.controller.doc.MetricsControllerAPI;
+import com.vitorbastosbn.nutricionista.service.AuthorizationMetrics;
+import com.vitorbastosbn.nutricionista.service.CachingUserDetailsService;
+import com.vitorbastosbn.nutricionista.service.EntityCacheService;
+import com.vitorbastosbn.nutricionista.service.LoginRateLimiter;
+import com.vitorbastosbn.nutricionista.service.TokenRevocationService;
+import com.vitorbastosbn.nutricionista.service.UserTypeaheadIndex;
+import com.vitorbastosbn.nutricionista.service.VerifiedTokenCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/metrics")
+@PreAuthorize("can('METRICS_READ')")
+@RequiredArgsConstructor
+public class MetricsController implements MetricsControllerAPI {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final LoginRateLimiter loginRateLimiter;
+    private final TokenRevocationService tokenRevocationService;
+    private final CachingUserDetailsService cachingUserDetailsService;
+    private final UserTypeaheadIndex userTypeaheadIndex;
+    private final EntityCacheService entityCacheService;
+    private final AuthorizationMetrics authorizationMetrics;
+
+    @Override
+    @GetMapping("/token-cache")
+    public ResponseEntity<VerifiedTokenCache.TokenCacheStats> getTokenCacheStats() {
+        return ResponseEntity.ok(verifiedTokenCache.stats());
+    }
+
+    @Override
+    @GetMapping("/login-limiter")
+    public ResponseEntity<LoginRateLimiter.LoginLimiterStats> getLoginLimiterStats() {
+        return ResponseEntity.ok(loginRateLimiter.stats());
+    }
+
+    @Override
+    @GetMapping("/token-revocation")
+    public ResponseEntity<TokenRevocationService.RevocationStats> getTokenRevocationStats() {
+        return ResponseEntity.ok(tokenRevocationService.stats());
+    }
+
+    @Override
+    @GetMapping("/user-cache")
+    public ResponseEntity<CachingUserDetailsService.UserCacheStats> getUserCacheStats() {
+        return ResponseEntity.ok(cachingUserDetailsService.stats());
+    }
+
+    @Override
+    @GetMapping("/typeahead")
+    public ResponseEntity<UserTypeaheadIndex.TypeaheadStats> getTypeaheadStats() {
+        return ResponseEntity.ok(userTypeaheadIndex.stats());
+    }
+
+    @Override
+    @GetMapping("/second-level-cache")
+    public ResponseEntity<EntityCacheService.SecondLevelCacheStats> getSecondLevelCacheStats() {
+        return ResponseEntity.ok(entityCacheService.stats());
+    }
+
+    @Override
+    @GetMapping("/authorization")
+    public ResponseEntity<AuthorizationMetrics.AuthorizationStats> getAuthorizationStats() {
+        return ResponseEntity.ok(authorizationMetrics.stats());
+    }
+
+}
@@ -1,13 +1,15 @@
 package com.vitorbastosbn.nutricionista.controller;
 
 import com.vitorbastosbn.nutricionista.controller.doc.RoleControllerAPI;
+import com.vitorbastosbn.nutricionista.domain.dto.request.CountMode;
 import com.vitorbastosbn.nutricionista.domain.dto.request.RoleRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.response.CursorPageResponse;
 import com.vitorbastosbn.nutricionista.service.RoleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,7 +30,7 @@ import java.util.UUID;
 @Slf4j
 @RestController
 @RequestMapping("/api/roles")
-@PreAuthorize("hasRole('ADMIN')")
+@PreAuthorize("can('ROLE_MANAGE')")
 @RequiredArgsConstructor
 public class RoleController implements RoleControllerAPI {
 
@@ -44,13 +46,14 @@ public class RoleController implements RoleControllerAPI {
 
     @Override
     @GetMapping
-    public ResponseEntity<Page<RoleRequest>> findAll(
+    public ResponseEntity<Slice<RoleRequest>> findAll(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id,asc") String[] sort,
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String description,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "exact") String count) {
         log.debug("Listando todas as roles com paginação: página {}, tamanho {}", page, size);
 
         // Criar Pageable a partir dos parâmetros
@@ -66,7 +69,22 @@ public class RoleController implements RoleControllerAPI {
                 .toArray(Sort.Order[]::new);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(orders));
-        Page<RoleRequest> roles = roleService.findAll(name, description, search, pageable);
+        Slice<RoleRequest> roles = roleService.findAll(name, description, search, pageable, CountMode.from(count));
+        return ResponseEntity.ok(roles);
+    }
+
+    @Override
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<RoleRequest>> findAllByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) String search) {
+        log.debug("Listando roles por cursor, tamanho {}", size);
+        CursorPageResponse<RoleRequest> roles =
+                roleService.findAllByCursor(name, description, search, cursor, size, sort);
         return ResponseEntity.ok(roles);
     }
 
@@ -1,29 +1,49 @@
 package com.vitorbastosbn.nutricionista.controller;
 
 import com.vitorbastosbn.nutricionista.controller.doc.UserControllerAPI;
+import com.vitorbastosbn.nutricionista.domain.dto.request.BulkRoleAssignmentRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.request.CountMode;
+import com.vitorbastosbn.nutricionista.domain.dto.request.FileFormat;
 import com.vitorbastosbn.nutricionista.domain.dto.request.UpdateUserRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.request.UpdateUserAddressRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.request.UpdateUserContactRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.response.BulkRoleAssignmentResponse;
+import com.vitorbastosbn.nutricionista.domain.dto.response.CursorPageResponse;
+import com.vitorbastosbn.nutricionista.domain.dto.response.UserImportResponse;
 import com.vitorbastosbn.nutricionista.domain.dto.response.UserResponse;
+import com.vitorbastosbn.nutricionista.domain.dto.response.UserSuggestionResponse;
+import com.vitorbastosbn.nutricionista.exception.BusinessException;
+import com.vitorbastosbn.nutricionista.service.RoleAssignmentService;
+import com.vitorbastosbn.nutricionista.service.UserExportService;
+import com.vitorbastosbn.nutricionista.service.UserImportService;
 import com.vitorbastosbn.nutricionista.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.JsonNode;
 
+import java.io.InputStream;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -33,6 +53,9 @@ import java.util.UUID;
 public class UserController implements UserControllerAPI {
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final UserExportService userExportService;
+    private final RoleAssignmentService roleAssignmentService;
 
     @Override
     @GetMapping("/me")
@@ -43,7 +66,7 @@ public class UserController implements UserControllerAPI {
 
     @Override
     @GetMapping("/{userId}")
-    @PreAuthorize("hasAnyRole('ADMIN') or #userId == principal.id")
+    @PreAuthorize("can('USER_READ') or #userId == principal.id")
     public ResponseEntity<UserResponse> getUserById(@PathVariable UUID userId) {
         UserResponse user = userService.getUserById(userId);
         return ResponseEntity.ok(user);
@@ -51,17 +74,18 @@ public class UserController implements UserControllerAPI {
 
     @Override
     @GetMapping
-    @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Page<UserResponse>> getAllUsers(
+    @PreAuthorize("can('USER_READ')")
+    public ResponseEntity<Slice<UserResponse>> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id,asc") String[] sort,
+            @RequestParam(required = false) String[] sort,
             @RequestParam(required = false) String fullName,
             @RequestParam(required = false) String email,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "exact") String count) {
 
-        // Criar Pageable a partir dos parâmetros
-        Sort.Order[] orders = Arrays.stream(sort)
+        // Criar Pageable a partir dos parâmetros; sem sort, o serviço ordena por relevância (search) ou por id
+        Sort.Order[] orders = sort == null ? new Sort.Order[0] : Arrays.stream(sort)
                 .map(s -> {
                     String[] parts = s.split(",");
                     String property = parts[0];
@@ -73,10 +97,62 @@ public class UserController implements UserControllerAPI {
                 .toArray(Sort.Order[]::new);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(orders));
-        Page<UserResponse> users = userService.getAllUsers(fullName, email, search, pageable);
+        Slice<UserResponse> users = userService.getAllUsers(fullName, email, search, pageable, CountMode.from(count));
+        return ResponseEntity.ok(users);
+    }
+
+    @Override
+    @GetMapping("/cursor")
+    @PreAuthorize("can('USER_READ')")
+    public ResponseEntity<CursorPageResponse<UserResponse>> getAllUsersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(required = false) String fullName,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String search) {
+        CursorPageResponse<UserResponse> users =
+                userService.getAllUsersByCursor(fullName, email, search, cursor, size, sort);
         return ResponseEntity.ok(users);
     }
 
+    @Override
+    @GetMapping("/export")
+    @PreAuthorize("can('USER_EXPORT')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String fullName,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String search) {
+        FileFormat fileFormat = FileFormat.from(format);
+        // O corpo é gerado depois que o método retorna, escrito direto na saída conforme o cursor avança
+        StreamingResponseBody body = output -> userExportService.export(fullName, email, search, fileFormat, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(fileFormat.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + fileFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @Override
+    @GetMapping("/autocomplete")
+    @PreAuthorize("can('USER_READ')")
+    public ResponseEntity<List<UserSuggestionResponse>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userService.autocomplete(q, limit));
+    }
+
+    @Override
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("can('USER_IMPORT')")
+    public ResponseEntity<UserImportResponse> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        // O corpo é lido em streaming pelo serviço, sem ser carregado inteiro em memória
+        UserImportResponse result = userImportService.importUsers(body, FileFormat.fromContentType(contentType));
+        return ResponseEntity.ok(result);
+    }
+
     @Override
     @PutMapping("/me")
     public ResponseEntity<UserResponse> updateCurrentUser(@RequestBody @Valid UpdateUserRequest request) {
@@ -86,7 +162,7 @@ public class UserController implements UserControllerAPI {
 
     @Override
     @PutMapping("/{userId}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("can('USER_WRITE')")
     public ResponseEntity<UserResponse> updateUser(
             @PathVariable UUID userId,
             @RequestBody @Valid UpdateUserRequest request) {
@@ -94,6 +170,26 @@ public class UserController implements UserControllerAPI {
         return ResponseEntity.ok(user);
     }
 
+    @Override
+    @PatchMapping(value = "/me", consumes = MERGE_PATCH_JSON)
+    public ResponseEntity<UserResponse> patchCurrentUser(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        UserResponse user = userService.patchCurrentUser(patch, parseVersion(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(user.getVersion())).body(user);
+    }
+
+    @Override
+    @PatchMapping(value = "/{userId}", consumes = MERGE_PATCH_JSON)
+    @PreAuthorize("can('USER_WRITE')")
+    public ResponseEntity<UserResponse> patchUser(
+            @PathVariable UUID userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        UserResponse user = userService.patchUser(userId, patch, parseVersion(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(user.getVersion())).body(user);
+    }
+
     @Override
     @PutMapping("/me/address")
     public ResponseEntity<UserResponse> updateCurrentUserAddress(
@@ -104,7 +200,7 @@ public class UserController implements UserControllerAPI {
 
     @Override
     @PutMapping("/{userId}/address")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("can('USER_WRITE')")
     public ResponseEntity<UserResponse> updateUserAddress(
             @PathVariable UUID userId,
             @RequestBody @Valid UpdateUserAddressRequest request) {
@@ -122,7 +218,7 @@ public class UserController implements UserControllerAPI {
 
     @Override
     @PutMapping("/{userId}/contact")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("can('USER_WRITE')")
     public ResponseEntity<UserResponse> updateUserContact(
             @PathVariable UUID userId,
             @RequestBody @Valid UpdateUserContactRequest request) {
@@ -132,7 +228,7 @@ public class UserController implements UserControllerAPI {
 
     @Override
     @PutMapping("/{userId}/roles/{roleId}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("can('ROLE_ASSIGN')")
     public ResponseEntity<UserResponse> addRoleToUser(
             @PathVariable UUID userId,
             @PathVariable UUID roleId) {
@@ -142,7 +238,7 @@ public class UserController implements UserControllerAPI {
 
     @Override
     @DeleteMapping("/{userId}/roles/{roleId}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("can('ROLE_ASSIGN')")
     public ResponseEntity<UserResponse> removeRoleFromUser(
             @PathVariable UUID userId,
             @PathVariable UUID roleId) {
@@ -152,7 +248,7 @@ public class UserController implements UserControllerAPI {
 
     @Override
     @PutMapping("/{userId}/roles")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("can('ROLE_ASSIGN')")
     public ResponseEntity<UserResponse> updateUserRoles(
             @PathVariable UUID userId,
             @RequestBody Set<UUID> roleIds) {
@@ -160,6 +256,15 @@ public class UserController implements UserControllerAPI {
         return ResponseEntity.ok(user);
     }
 
+    @Override
+    @PostMapping("/roles/bulk")
+    @PreAuthorize("can('ROLE_ASSIGN')")
+    public ResponseEntity<BulkRoleAssignmentResponse> assignRolesInBulk(
+            @RequestBody @Valid BulkRoleAssignmentRequest request) {
+        BulkRoleAssignmentResponse result = roleAssignmentService.apply(request);
+        return ResponseEntity.ok(result);
+    }
+
     @Override
     @DeleteMapping("/me")
     public ResponseEntity<Void> deleteCurrentUser() {
@@ -169,13 +274,36 @@ public class UserController implements UserControllerAPI {
 
     @Override
     @DeleteMapping("/{userId}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("can('USER_DELETE')")
     public ResponseEntity<Void> deleteUser(@PathVariable UUID userId) {
         userService.deleteUser(userId);
         return ResponseEntity.noContent().build();
     }
 
-}
-
+    @Override
+    @DeleteMapping("/{userId}/sessions")
+    @PreAuthorize("can('USER_DELETE')")
+    public ResponseEntity<Void> signOutUser(@PathVariable UUID userId) {
+        userService.signOutUser(userId);
+        return ResponseEntity.noContent().build();
+    }
 
+    /**
+     * Extrai a versão do If-Match, aceitando {@code 3}, {@code "3"} ou {@code W/"3"}.
+     */
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        try {
+            return Long.valueOf(value.replace("\"", ""));
+        } catch (NumberFormatException ex) {
+            throw new BusinessException("Cabeçalho If-Match inválido: " + ifMatch);
+        }
+    }
 
+}
@@ -5,12 +5,14 @@ import com.vitorbastosbn.nutricionista.domain.dto.request.RegisterRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.request.RefreshTokenRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.response.AuthResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -61,9 +63,22 @@ public interface AuthControllerAPI {
                                     value = SwaggerErrorExamples.VALIDATION_ERROR_400
                             )
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Muitas tentativas de login para o email ou IP. Consulte o header Retry-After",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Limite excedido",
+                                    value = SwaggerErrorExamples.TOO_MANY_REQUESTS_429
+                            )
+                    )
             )
     })
-    ResponseEntity<AuthResponse> login(@RequestBody @Valid LoginRequest loginRequest);
+    ResponseEntity<AuthResponse> login(
+            @RequestBody @Valid LoginRequest loginRequest,
+            @Parameter(hidden = true) HttpServletRequest request);
 
     @PostMapping("/register")
     @Operation(
@@ -151,4 +166,41 @@ public interface AuthControllerAPI {
     })
     ResponseEntity<AuthResponse> refreshToken(@RequestBody @Valid RefreshTokenRequest refreshTokenRequest);
 
+    @PostMapping("/logout")
+    @Operation(
+            summary = "Encerrar sessão",
+            description = "Revoga o Refresh Token informado e todos os tokens renovados a partir do mesmo login. Se o header Authorization for enviado, o Access Token também é revogado imediatamente"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Sessão encerrada com sucesso"
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Refresh Token inválido ou expirado",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Token inválido",
+                                    value = SwaggerErrorExamples.INVALID_REFRESH_TOKEN_409
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Refresh Token não informado",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Token não informado",
+                                    value = SwaggerErrorExamples.VALIDATION_ERROR_400
+                            )
+                    )
+            )
+    })
+    ResponseEntity<Void> logout(
+            @RequestBody @Valid RefreshTokenRequest refreshTokenRequest,
+            @Parameter(hidden = true) String authorization);
+
 }
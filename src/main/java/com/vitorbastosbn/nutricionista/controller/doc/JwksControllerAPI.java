@@ -0,0 +1,35 @@
+package com.vitorbastosbn.nutricionista.controller.doc;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+@Tag(name = "Autenticação", description = "Endpoints relacionados a autenticação e autorização")
+public interface JwksControllerAPI {
+
+    @Operation(
+            summary = "Obter chaves públicas de verificação (JWKS)",
+            description = "Retorna o JWK Set com as chaves públicas usadas para verificar os tokens emitidos. " +
+                    "Permite que réplicas verifiquem tokens ES256/EdDSA sem acesso à chave privada. Vazio no modo HS256."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "JWK Set obtido com sucesso",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "JWK Set ES256",
+                                    value = SwaggerSuccessExamples.JWKS_RESPONSE
+                            )
+                    )
+            )
+    })
+    ResponseEntity<String> getJwks();
+
+}
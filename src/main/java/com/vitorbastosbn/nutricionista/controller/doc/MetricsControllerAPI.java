@@ -0,0 +1,195 @@
+package com.vitorbastosbn.nutricionista.controller.doc;
+
+import com.vitorbastosbn.nutricionista.service.AuthorizationMetrics;
+import com.vitorbastosbn.nutricionista.service.CachingUserDetailsService;
+import com.vitorbastosbn.nutricionista.service.EntityCacheService;
+import com.vitorbastosbn.nutricionista.service.LoginRateLimiter;
+import com.vitorbastosbn.nutricionista.service.TokenRevocationService;
+import com.vitorbastosbn.nutricionista.service.UserTypeaheadIndex;
+import com.vitorbastosbn.nutricionista.service.VerifiedTokenCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+@Tag(name = "Métricas", description = "Métricas internas de cache e segurança")
+@SecurityRequirement(name = "Bearer Authentication")
+public interface MetricsControllerAPI {
+
+    @Operation(
+            summary = "Métricas do cache de tokens verificados",
+            description = "Retorna acertos, falhas, remoções por capacidade, tamanho estimado em bytes e taxa de acerto do cache de JWT. Requer role ADMIN"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Métricas obtidas com sucesso",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = VerifiedTokenCache.TokenCacheStats.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado - Apenas ADMIN",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            )
+    })
+    ResponseEntity<VerifiedTokenCache.TokenCacheStats> getTokenCacheStats();
+
+    @Operation(
+            summary = "Métricas do limitador de login",
+            description = "Retorna tentativas permitidas e bloqueadas, buckets em uso removidos por falta de espaço, chaves rastreadas e remoções de buckets recompostos. Requer role ADMIN"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Métricas obtidas com sucesso",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = LoginRateLimiter.LoginLimiterStats.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado - Apenas ADMIN",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            )
+    })
+    ResponseEntity<LoginRateLimiter.LoginLimiterStats> getLoginLimiterStats();
+
+    @Operation(
+            summary = "Métricas da lista de revogação de tokens",
+            description = "Retorna tokens revogados em memória, consultas, positivos do filtro de Bloom e sincronizações com o banco. Requer role ADMIN"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Métricas obtidas com sucesso",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = TokenRevocationService.RevocationStats.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado - Apenas ADMIN",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            )
+    })
+    ResponseEntity<TokenRevocationService.RevocationStats> getTokenRevocationStats();
+
+    @Operation(
+            summary = "Métricas do cache de usuários autenticados",
+            description = "Retorna acertos, falhas, remoções por capacidade e invalidações do cache de UserDetails. Requer role ADMIN"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Métricas obtidas com sucesso",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = CachingUserDetailsService.UserCacheStats.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado - Apenas ADMIN",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            )
+    })
+    ResponseEntity<CachingUserDetailsService.UserCacheStats> getUserCacheStats();
+
+    @Operation(
+            summary = "Métricas do índice de autocompletar",
+            description = "Retorna se o índice está pronto, usuários e tokens indexados, usuários recusados pelo limite " +
+                    "de memória, consultas atendidas e o tamanho estimado do índice em bytes frente ao limite configurado. Requer role ADMIN"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Métricas obtidas com sucesso",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = UserTypeaheadIndex.TypeaheadStats.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado - Apenas ADMIN",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            )
+    })
+    ResponseEntity<UserTypeaheadIndex.TypeaheadStats> getTypeaheadStats();
+
+    @Operation(
+            summary = "Métricas do cache de segundo nível do Hibernate",
+            description = "Retorna acertos, falhas, gravações e remoções por região (roles, roles dos usuários e consultas). Requer role ADMIN"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Métricas obtidas com sucesso",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = EntityCacheService.SecondLevelCacheStats.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado - Apenas ADMIN",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            )
+    })
+    ResponseEntity<EntityCacheService.SecondLevelCacheStats> getSecondLevelCacheStats();
+
+    @Operation(
+            summary = "Métricas de autorização de métodos",
+            description = "Retorna, por endpoint, avaliações de @PreAuthorize, negações e latência média e máxima, " +
+                    "e se cada expressão está compilada ou interpretada. Requer role ADMIN"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Métricas obtidas com sucesso",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = AuthorizationMetrics.AuthorizationStats.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado - Apenas ADMIN",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            )
+    })
+    ResponseEntity<AuthorizationMetrics.AuthorizationStats> getAuthorizationStats();
+
+}
@@ -1,6 +1,7 @@
 package com.vitorbastosbn.nutricionista.controller.doc;
 
 import com.vitorbastosbn.nutricionista.domain.dto.request.RoleRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.response.CursorPageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,7 +12,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -102,7 +103,7 @@ public interface RoleControllerAPI {
                     )
             )
     })
-    ResponseEntity<Page<RoleRequest>> findAll(
+    ResponseEntity<Slice<RoleRequest>> findAll(
             @Parameter(
                     description = "Numero da pagina (comecando em 0)",
                     example = "0",
@@ -143,6 +144,90 @@ public interface RoleControllerAPI {
                     example = "admin",
                     schema = @Schema(type = "string")
             )
+            @RequestParam(required = false) String search,
+
+            @Parameter(
+                    description = "Cálculo do total: exact (COUNT exato), estimated (estatísticas do banco, ou contagem limitada quando há filtros) " +
+                            "ou none (sem total, retorna apenas a página e se há próxima). Nos modos com total, totalAccuracy informa se ele " +
+                            "é EXACT, ESTIMATED ou AT_LEAST (a contagem limitada parou no limite)",
+                    example = "estimated",
+                    schema = @Schema(type = "string", allowableValues = {"exact", "estimated", "none"}, defaultValue = "exact")
+            )
+            @RequestParam(defaultValue = "exact") String count
+    );
+
+    @Operation(
+            summary = "Listar roles por cursor",
+            description = "Paginação por keyset: retorna a página seguinte à posição do cursor, sem contagem total e com custo constante " +
+                    "em qualquer profundidade. Requer role ADMIN. Ordenação por uma única propriedade (name ou id), com o id como desempate. " +
+                    "Os mesmos filtros da listagem paginada são aceitos. No máximo 100 itens por página."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Página obtida com sucesso. Use nextCursor para buscar a próxima",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = CursorPageResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Nao autenticado",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.UNAUTHORIZED_401)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acesso negado - Apenas ADMIN",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            )
+    })
+    ResponseEntity<CursorPageResponse<RoleRequest>> findAllByCursor(
+            @Parameter(
+                    description = "Token opaco retornado em nextCursor pela página anterior. Omitir na primeira página",
+                    schema = @Schema(type = "string")
+            )
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(
+                    description = "Tamanho da página (quantidade de itens por página)",
+                    example = "10",
+                    schema = @Schema(type = "integer", defaultValue = "10")
+            )
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(
+                    description = "Ordenação da primeira página no formato: propriedade(,asc|desc). Ignorada quando o cursor é informado",
+                    example = "name,asc",
+                    schema = @Schema(type = "string", defaultValue = "id,asc")
+            )
+            @RequestParam(defaultValue = "id,asc") String sort,
+
+            @Parameter(
+                    description = "Filtro por nome da role (busca parcial, case-insensitive)",
+                    example = "ADMIN",
+                    schema = @Schema(type = "string")
+            )
+            @RequestParam(required = false) String name,
+
+            @Parameter(
+                    description = "Filtro por descricao da role (busca parcial, case-insensitive)",
+                    example = "Administrador",
+                    schema = @Schema(type = "string")
+            )
+            @RequestParam(required = false) String description,
+
+            @Parameter(
+                    description = "Busca geral em name e description simultaneamente (busca parcial, case-insensitive)",
+                    example = "admin",
+                    schema = @Schema(type = "string")
+            )
             @RequestParam(required = false) String search
     );
 
@@ -130,6 +130,18 @@ public final class SwaggerErrorExamples {
             }
             """;
 
+    public static final String VERSION_CONFLICT_409 = """
+            {
+              "timestamp": "2026-02-09T22:40:00",
+              "status": 409,
+              "message": "Conflito de concorrência",
+              "error": {
+                "code": "CONCURRENT_MODIFICATION",
+                "details": "O registro foi alterado por outra requisição. Obtenha a versão atual e tente novamente."
+              }
+            }
+            """;
+
     public static final String INTERNAL_SERVER_ERROR_500 = """
             {
               "timestamp": "2026-02-09T22:40:00",
@@ -156,6 +168,18 @@ public final class SwaggerErrorExamples {
             }
             """;
 
+    public static final String TOO_MANY_REQUESTS_429 = """
+            {
+              "timestamp": "2026-02-09T23:00:00",
+              "status": 429,
+              "message": "Limite de requisições excedido",
+              "error": {
+                "code": "TOO_MANY_REQUESTS",
+                "details": "Muitas tentativas de login. Tente novamente mais tarde."
+              }
+            }
+            """;
+
     public static final String INVALID_REFRESH_TOKEN_409 = """
             {
               "timestamp": "2026-02-09T23:00:00",
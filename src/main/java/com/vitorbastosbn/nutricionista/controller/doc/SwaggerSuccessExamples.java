@@ -239,5 +239,19 @@ public final class SwaggerSuccessExamples {
               "issued_at": "2026-02-10T00:00:00"
             }
             """;
-}
 
+    public static final String JWKS_RESPONSE = """
+            {
+              "keys": [
+                {
+                  "kty": "EC",
+                  "crv": "P-256",
+                  "alg": "ES256",
+                  "kid": "NzbLsXh8uDCcd-6MNwXF4W_7noWXFZAfHkxZsRGC9Xs",
+                  "x": "f83OJ3D2xF1Bg8vub9tLe1gHMzV76e8Tus9uPHvRVEU",
+                  "y": "x_FEzRu9m36HLN_tue659LNpXW6pCyStikYjKIWI5a0"
+                }
+              ]
+            }
+            """;
+}
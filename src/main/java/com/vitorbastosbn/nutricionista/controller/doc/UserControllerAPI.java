@@ -1,11 +1,17 @@
 package com.vitorbastosbn.nutricionista.controller.doc;
 
+import com.vitorbastosbn.nutricionista.domain.dto.request.BulkRoleAssignmentRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.request.UpdateUserRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.request.UpdateUserAddressRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.request.UpdateUserContactRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.response.BulkRoleAssignmentResponse;
+import com.vitorbastosbn.nutricionista.domain.dto.response.CursorPageResponse;
+import com.vitorbastosbn.nutricionista.domain.dto.response.UserImportResponse;
 import com.vitorbastosbn.nutricionista.domain.dto.response.UserResponse;
+import com.vitorbastosbn.nutricionista.domain.dto.response.UserSuggestionResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,25 +20,35 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.io.InputStream;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.JsonNode;
 
 @RequestMapping("/users")
 @Tag(name = "Gerenciamento de Usuários", description = "Endpoints para gerenciamento de dados de usuários, endereços, contatos e roles")
 @SecurityRequirement(name = "Bearer Authentication")
 public interface UserControllerAPI {
 
+    String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     @GetMapping("/me")
     @Operation(
             summary = "Obter dados do usuário autenticado",
@@ -148,7 +164,7 @@ public interface UserControllerAPI {
                     )
             )
     })
-    ResponseEntity<Page<UserResponse>> getAllUsers(
+    ResponseEntity<Slice<UserResponse>> getAllUsers(
             @Parameter(
                     description = "Número da página (começando em 0)",
                     example = "0",
@@ -165,11 +181,164 @@ public interface UserControllerAPI {
 
             @Parameter(
                     description = "Ordenação no formato: propriedade(,asc|desc). " +
-                            "Padrão é ascendente. Múltiplos critérios de ordenação são suportados.",
+                            "Padrão é ascendente. Múltiplos critérios de ordenação são suportados. " +
+                            "Se omitida, ordena por id, ou por relevância quando search é informado.",
+                    example = "fullName,asc",
+                    schema = @Schema(type = "string")
+            )
+            @RequestParam(required = false) String[] sort,
+
+            @Parameter(
+                    description = "Filtro por nome completo do usuário (busca parcial, sem diferenciar maiúsculas e acentos)",
+                    example = "João Silva",
+                    schema = @Schema(type = "string")
+            )
+            @RequestParam(required = false) String fullName,
+
+            @Parameter(
+                    description = "Filtro por email do usuário (busca parcial, case-insensitive)",
+                    example = "joao@example.com",
+                    schema = @Schema(type = "string")
+            )
+            @RequestParam(required = false) String email,
+
+            @Parameter(
+                    description = "Busca geral que procura em fullName e email simultaneamente (busca parcial, case-insensitive). Ignora acentos no nome e ordena por relevância quando sort não é informado. Sobrescreve os filtros fullName e email se fornecido.",
+                    example = "joao",
+                    schema = @Schema(type = "string")
+            )
+            @RequestParam(required = false) String search,
+
+            @Parameter(
+                    description = "Cálculo do total: exact (COUNT exato), estimated (estatísticas do banco, ou contagem limitada quando há filtros) " +
+                            "ou none (sem total, retorna apenas a página e se há próxima). Nos modos com total, totalAccuracy informa se ele " +
+                            "é EXACT, ESTIMATED ou AT_LEAST (a contagem limitada parou no limite)",
+                    example = "estimated",
+                    schema = @Schema(type = "string", allowableValues = {"exact", "estimated", "none"}, defaultValue = "exact")
+            )
+            @RequestParam(defaultValue = "exact") String count
+    );
+
+    @GetMapping("/cursor")
+    @Operation(
+            summary = "Listar usuários por cursor",
+            description = "Paginação por keyset: retorna a página seguinte à posição do cursor, sem contagem total e com custo constante " +
+                    "em qualquer profundidade. Requer role ADMIN. Ordenação por uma única propriedade (fullName, email ou id), com o id como desempate. " +
+                    "Os mesmos filtros da listagem paginada são aceitos. No máximo 100 itens por página."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Página obtida com sucesso. Use nextCursor para buscar a próxima",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = CursorPageResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Não autenticado",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.UNAUTHORIZED_401)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Sem permissão - Apenas ADMIN pode listar usuários",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            )
+    })
+    ResponseEntity<CursorPageResponse<UserResponse>> getAllUsersByCursor(
+            @Parameter(
+                    description = "Token opaco retornado em nextCursor pela página anterior. Omitir na primeira página",
+                    schema = @Schema(type = "string")
+            )
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(
+                    description = "Tamanho da página (quantidade de itens por página)",
+                    example = "10",
+                    schema = @Schema(type = "integer", defaultValue = "10")
+            )
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(
+                    description = "Ordenação da primeira página no formato: propriedade(,asc|desc). Ignorada quando o cursor é informado",
                     example = "fullName,asc",
                     schema = @Schema(type = "string", defaultValue = "id,asc")
             )
-            @RequestParam(defaultValue = "id,asc") String[] sort,
+            @RequestParam(defaultValue = "id,asc") String sort,
+
+            @Parameter(
+                    description = "Filtro por nome completo do usuário (busca parcial, case-insensitive)",
+                    example = "João Silva",
+                    schema = @Schema(type = "string")
+            )
+            @RequestParam(required = false) String fullName,
+
+            @Parameter(
+                    description = "Filtro por email do usuário (busca parcial, case-insensitive)",
+                    example = "joao@example.com",
+                    schema = @Schema(type = "string")
+            )
+            @RequestParam(required = false) String email,
+
+            @Parameter(
+                    description = "Busca geral em fullName e email simultaneamente (busca parcial, case-insensitive)",
+                    example = "joao",
+                    schema = @Schema(type = "string")
+            )
+            @RequestParam(required = false) String search
+    );
+
+    @GetMapping("/export")
+    @Operation(
+            summary = "Exportar usuários em NDJSON ou CSV",
+            description = "Exporta todos os usuários que atendem aos filtros, ordenados por id, em uma única resposta " +
+                    "escrita em streaming: a consulta usa cursor no servidor e a memória não cresce com o tamanho da base. " +
+                    "Substitui a leitura página a página de GET /users para cargas completas. Requer role ADMIN."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Arquivo gerado. NDJSON traz um UserResponse por linha; CSV traz cabeçalho e roles separadas por |",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Não autenticado",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.UNAUTHORIZED_401)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Sem permissão - Apenas ADMIN",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Formato inválido",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    ResponseEntity<StreamingResponseBody> exportUsers(
+            @Parameter(
+                    description = "Formato do arquivo",
+                    schema = @Schema(type = "string", allowableValues = {"ndjson", "csv"}, defaultValue = "ndjson")
+            )
+            @RequestParam(defaultValue = "ndjson") String format,
 
             @Parameter(
                     description = "Filtro por nome completo do usuário (busca parcial, case-insensitive)",
@@ -186,13 +355,107 @@ public interface UserControllerAPI {
             @RequestParam(required = false) String email,
 
             @Parameter(
-                    description = "Busca geral que procura em fullName e email simultaneamente (busca parcial, case-insensitive). Sobrescreve os filtros fullName e email se fornecido.",
+                    description = "Busca geral em fullName e email simultaneamente (busca parcial, case-insensitive)",
                     example = "joao",
                     schema = @Schema(type = "string")
             )
             @RequestParam(required = false) String search
     );
 
+    @GetMapping("/autocomplete")
+    @Operation(
+            summary = "Autocompletar usuários por nome ou email",
+            description = "Retorna os usuários mais relevantes cujos nomes ou emails têm palavras começando com os termos informados, " +
+                    "ignorando acentos e maiúsculas. Consulta um índice em memória, sem acesso ao banco. Requer role ADMIN."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Sugestões obtidas com sucesso (lista vazia se nada corresponder)",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = UserSuggestionResponse.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Não autenticado",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.UNAUTHORIZED_401)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Sem permissão - Apenas ADMIN pode buscar usuários",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            )
+    })
+    ResponseEntity<List<UserSuggestionResponse>> autocomplete(
+            @Parameter(
+                    description = "Texto digitado; cada palavra é tratada como prefixo. A palavra mais longa precisa ter ao menos 3 letras, senão a lista vem vazia",
+                    example = "joao sil",
+                    required = true
+            )
+            @RequestParam String q,
+
+            @Parameter(
+                    description = "Quantidade máxima de sugestões (até 50)",
+                    example = "10",
+                    schema = @Schema(type = "integer", defaultValue = "10")
+            )
+            @RequestParam(defaultValue = "10") int limit
+    );
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(
+            summary = "Importar usuários em massa",
+            description = "Lê um arquivo CSV (text/csv, cabeçalho com fullName, birthDate, email, password, street, number, " +
+                    "complement, neighborhood, city, state, zipCode, country, emergencyContact, emergencyPhone, phoneNumber, " +
+                    "alternativePhone, whatsapp) ou NDJSON (application/x-ndjson, um cadastro de /auth/register por linha) " +
+                    "em streaming. Linhas válidas recebem a role ROLE_USER e são gravadas em lotes; linhas inválidas são " +
+                    "listadas no resultado sem interromper a importação. Requer role ADMIN."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Importação processada. Consulte failed e errors para as linhas rejeitadas",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = UserImportResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Não autenticado",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.UNAUTHORIZED_401)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Sem permissão - Apenas ADMIN",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Formato não suportado, arquivo ilegível ou role padrão ausente",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    ResponseEntity<UserImportResponse> importUsers(
+            @Parameter(hidden = true)
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(hidden = true)
+            InputStream body);
+
     @PutMapping("/me")
     @Operation(
             summary = "Atualizar dados do usuário autenticado",
@@ -293,6 +556,147 @@ public interface UserControllerAPI {
             UUID userId,
             @RequestBody @Valid UpdateUserRequest request);
 
+    @PatchMapping(value = "/me", consumes = MERGE_PATCH_JSON)
+    @Operation(
+            summary = "Atualizar parcialmente o usuário autenticado",
+            description = "Atualiza apenas os campos enviados (nome, data de nascimento, email, address e contact). Cada tabela alterada recebe um único UPDATE com as colunas modificadas"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Usuário atualizado com sucesso. O cabeçalho ETag traz a nova versão",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = UserResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados inválidos - Validação falhou",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.VALIDATION_ERROR_400)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Não autenticado",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.UNAUTHORIZED_401)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Email já cadastrado, campo não suportado ou versão diferente da informada no If-Match",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = {
+                                    @ExampleObject(name = "Email", value = SwaggerErrorExamples.EMAIL_CONFLICT_409),
+                                    @ExampleObject(name = "Versão", value = SwaggerErrorExamples.VERSION_CONFLICT_409)
+                            }
+                    )
+            )
+    })
+    ResponseEntity<UserResponse> patchCurrentUser(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "Versão lida (campo version ou ETag). Se informada e diferente da atual, a atualização é recusada", example = "\"3\"")
+            String ifMatch,
+            @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "JSON Merge Patch (RFC 7396). Campos ausentes são mantidos, null limpa o campo",
+                    content = @Content(
+                            mediaType = MERGE_PATCH_JSON,
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "fullName": "João Pereira da Silva",
+                                      "contact": { "whatsapp": false }
+                                    }
+                                    """)
+                    )
+            )
+            JsonNode patch);
+
+    @PatchMapping(value = "/{userId}", consumes = MERGE_PATCH_JSON)
+    @Operation(
+            summary = "Atualizar parcialmente um usuário específico",
+            description = "Atualiza apenas os campos enviados (nome, data de nascimento, email, address e contact). Cada tabela alterada recebe um único UPDATE com as colunas modificadas. Requer role ADMIN"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Usuário atualizado com sucesso. O cabeçalho ETag traz a nova versão",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = UserResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados inválidos - Validação falhou",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.VALIDATION_ERROR_400)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Não autenticado",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.UNAUTHORIZED_401)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Sem permissão - Apenas ADMIN",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Usuário não encontrado",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.USER_NOT_FOUND_404)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Email já cadastrado, campo não suportado ou versão diferente da informada no If-Match",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = {
+                                    @ExampleObject(name = "Email", value = SwaggerErrorExamples.EMAIL_CONFLICT_409),
+                                    @ExampleObject(name = "Versão", value = SwaggerErrorExamples.VERSION_CONFLICT_409)
+                            }
+                    )
+            )
+    })
+    ResponseEntity<UserResponse> patchUser(
+            @PathVariable
+            @Parameter(description = "ID do usuário", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6", required = true)
+            UUID userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "Versão lida (campo version ou ETag). Se informada e diferente da atual, a atualização é recusada", example = "\"3\"")
+            String ifMatch,
+            @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "JSON Merge Patch (RFC 7396). Campos ausentes são mantidos, null limpa o campo",
+                    content = @Content(
+                            mediaType = MERGE_PATCH_JSON,
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "fullName": "João Pereira da Silva",
+                                      "contact": { "whatsapp": false }
+                                    }
+                                    """)
+                    )
+            )
+            JsonNode patch);
+
     @PutMapping("/me/address")
     @Operation(
             summary = "Atualizar endereço do usuário autenticado",
@@ -611,6 +1015,65 @@ public interface UserControllerAPI {
             @Parameter(description = "Lista de IDs de roles", required = true)
             Set<UUID> roleIds);
 
+    @PostMapping("/roles/bulk")
+    @Operation(
+            summary = "Atribuir ou revogar roles em massa",
+            description = "Atribui as roles de assign e revoga as de revoke para todos os usuários de userIds em uma " +
+                    "transação, com comandos em lote sobre user_roles. Vínculos já existentes não são duplicados e a " +
+                    "revogação nunca deixa um usuário sem roles. IDs de usuário inexistentes são ignorados. Requer role ADMIN"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Roles aplicadas. Consulte keptLastRole para as revogações ignoradas",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BulkRoleAssignmentResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Lista de usuários vazia",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.VALIDATION_ERROR_400)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Não autenticado",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.UNAUTHORIZED_401)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Sem permissão - Apenas ADMIN",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Alguma role não encontrada",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.ROLE_NOT_FOUND_404)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Nenhuma role informada, role em assign e revoke ou usuários acima do limite",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    ResponseEntity<BulkRoleAssignmentResponse> assignRolesInBulk(
+            @RequestBody @Valid
+            @Parameter(description = "Usuários e roles a atribuir ou revogar", required = true)
+            BulkRoleAssignmentRequest request);
+
     @DeleteMapping("/me")
     @Operation(
             summary = "Deletar conta do usuário autenticado",
@@ -672,6 +1135,47 @@ public interface UserControllerAPI {
             @Parameter(description = "ID do usuário", required = true)
             UUID userId);
 
+    @DeleteMapping("/{userId}/sessions")
+    @Operation(
+            summary = "Encerrar as sessões de um usuário",
+            description = "Revoga todos os refresh tokens ativos do usuário, que precisará fazer login novamente. " +
+                    "Access tokens já emitidos continuam válidos até expirar. Requer role ADMIN"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Sessões encerradas com sucesso"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Não autenticado",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.UNAUTHORIZED_401)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Sem permissão - Apenas ADMIN",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.FORBIDDEN_403)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Usuário não encontrado",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = SwaggerErrorExamples.USER_NOT_FOUND_404)
+                    )
+            )
+    })
+    ResponseEntity<Void> signOutUser(
+            @PathVariable
+            @Parameter(description = "ID do usuário", required = true)
+            UUID userId);
+
 }
 
 
@@ -0,0 +1,22 @@
+package com.vitorbastosbn.nutricionista.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Schema(description = "Atribuição e revogação de roles para vários usuários de uma vez")
+public record BulkRoleAssignmentRequest(
+
+        @NotEmpty(message = "Informe ao menos um usuário")
+        @Schema(description = "IDs dos usuários afetados; IDs inexistentes são ignorados")
+        Set<UUID> userIds,
+
+        @Schema(description = "IDs das roles a atribuir; usuários que já as possuem não mudam")
+        Set<UUID> assign,
+
+        @Schema(description = "IDs das roles a revogar; usuários que ficariam sem nenhuma role são mantidos como estão")
+        Set<UUID> revoke
+) {
+}
@@ -0,0 +1,31 @@
+package com.vitorbastosbn.nutricionista.domain.dto.request;
+
+import com.vitorbastosbn.nutricionista.exception.BusinessException;
+
+import java.util.Locale;
+
+/**
+ * Como o total de uma listagem paginada é calculado.
+ */
+public enum CountMode {
+
+    /** {@code COUNT(*)} exato com os mesmos filtros da listagem. */
+    EXACT,
+
+    /** Estatísticas do planner sem filtros; contagem limitada com filtros. */
+    ESTIMATED,
+
+    /** Sem total: retorna apenas a página e se existe uma próxima. */
+    NONE;
+
+    public static CountMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return CountMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Modo de contagem inválido: " + value + ". Use exact, estimated ou none");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.vitorbastosbn.nutricionista.domain.dto.request;
+
+import com.vitorbastosbn.nutricionista.exception.BusinessException;
+
+import java.util.Locale;
+
+/**
+ * Formato dos arquivos de importação e exportação em massa de usuários.
+ */
+public enum FileFormat {
+
+    /** {@code text/csv}: cabeçalho com os nomes dos campos e uma linha por usuário. */
+    CSV("text/csv", "csv"),
+
+    /** {@code application/x-ndjson}: um objeto JSON por linha. */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+    private final String extension;
+
+    FileFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static FileFormat from(String value) {
+        try {
+            return FileFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new BusinessException("Formato inválido: " + value + ". Use csv ou ndjson");
+        }
+    }
+
+    public static FileFormat fromContentType(String contentType) {
+        String value = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        for (FileFormat format : values()) {
+            if (value.startsWith(format.mediaType)) {
+                return format;
+            }
+        }
+        throw new BusinessException("Formato de importação não suportado: " + contentType + ". Use text/csv ou application/x-ndjson");
+    }
+}
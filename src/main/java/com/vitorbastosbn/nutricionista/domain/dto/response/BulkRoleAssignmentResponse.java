@@ -0,0 +1,33 @@
+package com.vitorbastosbn.nutricionista.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado de uma atribuição de roles em massa")
+public class BulkRoleAssignmentResponse {
+
+    @Schema(description = "Usuários informados na requisição", example = "10000")
+    private long requestedUsers;
+
+    @Schema(description = "Vínculos usuário-role criados", example = "9870")
+    private long assigned;
+
+    @Schema(description = "Vínculos usuário-role removidos", example = "0")
+    private long revoked;
+
+    @Schema(description = "Usuários cujas roles mudaram", example = "9870")
+    private long affectedUsers;
+
+    @Schema(description = "Usuários em que a revogação foi ignorada por ser a última role", example = "0")
+    private long keptLastRole;
+
+    @Schema(description = "Duração total em milissegundos", example = "412")
+    private long durationMs;
+}
@@ -0,0 +1,45 @@
+package com.vitorbastosbn.nutricionista.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página com a indicação de como {@code totalElements} foi obtido, para que o cliente saiba
+ * quando o total é exato, uma estimativa do banco ou apenas um mínimo (contagem limitada).
+ */
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final TotalAccuracy totalAccuracy;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, TotalAccuracy totalAccuracy) {
+        super(content, pageable, total);
+        this.totalAccuracy = totalAccuracy;
+    }
+
+    @Schema(description = "Precisão de totalElements: EXACT, ESTIMATED ou AT_LEAST (a contagem parou no limite)",
+            example = "AT_LEAST")
+    public TotalAccuracy getTotalAccuracy() {
+        return totalAccuracy;
+    }
+
+    @Override
+    public <U> CountedPage<U> map(Function<? super T, ? extends U> converter) {
+        return new CountedPage<>(getConvertedContent(converter), getPageable(), getTotalElements(), totalAccuracy);
+    }
+
+    public enum TotalAccuracy {
+
+        /** {@code COUNT(*)} exato, ou contagem limitada que terminou antes do limite. */
+        EXACT,
+
+        /** Estatísticas do planner ({@code pg_class.reltuples}). */
+        ESTIMATED,
+
+        /** A contagem limitada atingiu o limite: existem pelo menos {@code totalElements} itens. */
+        AT_LEAST
+    }
+}
@@ -0,0 +1,31 @@
+package com.vitorbastosbn.nutricionista.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Página obtida por cursor, sem contagem total")
+public class CursorPageResponse<T> {
+
+    @Schema(description = "Itens da página")
+    private List<T> content;
+
+    @Schema(description = "Quantidade de itens retornados", example = "10")
+    private int size;
+
+    @Schema(description = "Indica se existem mais itens após esta página", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Token opaco para buscar a próxima página; nulo na última página",
+            example = "ZnVsbE5hbWU6QVNDOjNmYTg1ZjY0LTU3MTctNDU2Mi1iM2ZjLTJjOTYzZjY2YWZhNjpKb8OjbyBTaWx2YQ")
+    private String nextCursor;
+
+}
@@ -0,0 +1,29 @@
+package com.vitorbastosbn.nutricionista.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Linha rejeitada em uma importação em massa.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Linha rejeitada na importação")
+public class ImportRowError {
+
+    @Schema(description = "Linha do arquivo (a partir de 1, incluindo o cabeçalho do CSV)", example = "42")
+    private long line;
+
+    @Schema(description = "Email informado na linha, quando legível", example = "joao@example.com")
+    private String email;
+
+    @Schema(description = "Motivo da rejeição", example = "email: Email deve ser válido")
+    private String message;
+}
@@ -0,0 +1,38 @@
+package com.vitorbastosbn.nutricionista.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado de uma importação em massa de usuários")
+public class UserImportResponse {
+
+    @Schema(description = "Linhas de dados lidas do arquivo", example = "5000")
+    private long received;
+
+    @Schema(description = "Usuários gravados", example = "4987")
+    private long imported;
+
+    @Schema(description = "Linhas rejeitadas", example = "13")
+    private long failed;
+
+    @Schema(description = "Duração total em milissegundos", example = "61234")
+    private long durationMs;
+
+    @Schema(description = "Vazão em linhas lidas por segundo", example = "81.6")
+    private double rowsPerSecond;
+
+    @Schema(description = "Erros por linha, limitados aos primeiros reportados")
+    private List<ImportRowError> errors;
+
+    @Schema(description = "Indica se houve mais erros do que os listados", example = "false")
+    private boolean errorsTruncated;
+}
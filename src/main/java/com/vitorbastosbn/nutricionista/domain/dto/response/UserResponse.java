@@ -38,5 +38,8 @@ public class UserResponse {
     @Schema(description = "Roles atribuídos ao usuário")
     private Set<RoleResponse> roles;
 
+    @Schema(description = "Versão do cadastro, usada no cabeçalho If-Match das atualizações parciais", example = "3")
+    private Long version;
+
 }
 
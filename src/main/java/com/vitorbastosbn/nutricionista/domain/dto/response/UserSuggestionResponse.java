@@ -0,0 +1,27 @@
+package com.vitorbastosbn.nutricionista.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Sugestão de usuário para autocompletar")
+public class UserSuggestionResponse {
+
+    @Schema(description = "ID do usuário", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+    private UUID id;
+
+    @Schema(description = "Nome completo do usuário", example = "João Silva")
+    private String fullName;
+
+    @Schema(description = "Email do usuário", example = "joao.silva@example.com")
+    private String email;
+
+}
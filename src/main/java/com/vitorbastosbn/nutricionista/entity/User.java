@@ -14,6 +14,7 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Past;
@@ -24,6 +25,10 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.jspecify.annotations.Nullable;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -37,11 +42,15 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Table(
         name = "users",
         indexes = {
                 @Index(name = "idx_users_address_id", columnList = "address_id"),
-                @Index(name = "idx_users_contact_id", columnList = "contact_id")
+                @Index(name = "idx_users_contact_id", columnList = "contact_id"),
+                // Chaves da paginação por cursor: (propriedade, id) na ordem do ORDER BY
+                @Index(name = "idx_users_full_name_id", columnList = "full_name, id"),
+                @Index(name = "idx_users_email_id", columnList = "email, id")
         },
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_users_email", columnNames = "email")
@@ -78,10 +87,19 @@ public class User implements UserDetails, Serializable {
     private String fullName;
 
     @NotBlank
-    @Size(max = 100)
-    @Column(name = "password", nullable = false, length = 100)
+    @Size(max = 255)
+    @Column(name = "password", nullable = false, length = 255)
     private String password;
 
+    /**
+     * Versão para controle otimista de concorrência. Nula em usuários ainda não persistidos;
+     * linhas anteriores à coluna recebem 0 pelo default.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(
             name = "address_id",
@@ -97,6 +115,7 @@ public class User implements UserDetails, Serializable {
     private Contact contact;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(
@@ -0,0 +1,56 @@
+package com.vitorbastosbn.nutricionista.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Alteração de dados de autenticação (email, senha, roles) registrada para que os demais nós
+ * invalidem o seu cache de usuários. As linhas só precisam existir até todos os nós sincronizarem.
+ */
+@Entity
+@Table(
+        name = "user_details_changes",
+        indexes = {
+                @Index(name = "idx_user_details_changes_changed_at", columnList = "changed_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDetailsChange implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", nullable = false, updatable = false)
+    private UUID id;
+
+    /**
+     * Email afetado, ou {@code null} quando a alteração atinge todos os usuários.
+     */
+    @Column(name = "email", length = 255)
+    private String email;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+}
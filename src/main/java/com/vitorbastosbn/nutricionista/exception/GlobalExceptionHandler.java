@@ -4,9 +4,12 @@ import com.vitorbastosbn.nutricionista.domain.dto.response.ApiResponse;
 import com.vitorbastosbn.nutricionista.domain.dto.response.ErrorDetail;
 import com.vitorbastosbn.nutricionista.domain.dto.response.FieldErrorDetail;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,6 +17,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestControllerAdvice
@@ -51,6 +55,37 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ApiResponse<Void>> handleConstraintViolation(
+            ConstraintViolationException ex,
+            HttpServletRequest request) {
+
+        List<FieldErrorDetail> fieldErrors = ex.getConstraintViolations()
+                .stream()
+                .map(violation -> FieldErrorDetail.builder()
+                        .field(violation.getPropertyPath().toString())
+                        .rejectedValue(violation.getInvalidValue() != null ? violation.getInvalidValue().toString() : null)
+                        .message(violation.getMessage())
+                        .build())
+                .toList();
+
+        ErrorDetail errorDetail = ErrorDetail.builder()
+                .code("VALIDATION_ERROR")
+                .details("Falha na validação dos dados. Verifique os campos com erro abaixo.")
+                .fieldErrors(fieldErrors)
+                .build();
+
+        ApiResponse<Void> response = ApiResponse.<Void>builder()
+                .timestamp(java.time.LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .message("Dados inválidos foram enviados")
+                .error(errorDetail)
+                .build();
+
+        log.warn("Erro de validação em {}: {} erros encontrados", request.getRequestURI(), fieldErrors.size());
+        return ResponseEntity.badRequest().body(response);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiResponse<Void>> handleResourceNotFound(
             ResourceNotFoundException ex,
@@ -93,6 +128,27 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailure(
+            ObjectOptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+
+        ErrorDetail errorDetail = ErrorDetail.builder()
+                .code("CONCURRENT_MODIFICATION")
+                .details("O registro foi alterado por outra requisição. Obtenha a versão atual e tente novamente.")
+                .build();
+
+        ApiResponse<Void> response = ApiResponse.<Void>builder()
+                .timestamp(java.time.LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .message("Conflito de concorrência")
+                .error(errorDetail)
+                .build();
+
+        log.warn("Conflito de versão em {}: {}", request.getRequestURI(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ApiResponse<Void>> handleAccessDenied(
             AccessDeniedException ex,
@@ -114,6 +170,50 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTooManyRequests(
+            TooManyRequestsException ex,
+            HttpServletRequest request) {
+
+        ErrorDetail errorDetail = ErrorDetail.builder()
+                .code("TOO_MANY_REQUESTS")
+                .details(ex.getMessage())
+                .build();
+
+        ApiResponse<Void> response = ApiResponse.<Void>builder()
+                .timestamp(java.time.LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .message("Limite de requisições excedido")
+                .error(errorDetail)
+                .build();
+
+        log.warn("Limite de requisições excedido em {}: {}", request.getRequestURI(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiResponse<Void>> handleRejectedExecution(
+            RejectedExecutionException ex,
+            HttpServletRequest request) {
+
+        ErrorDetail errorDetail = ErrorDetail.builder()
+                .code("SERVICE_OVERLOADED")
+                .details("Servidor sobrecarregado. Por favor, tente novamente em instantes.")
+                .build();
+
+        ApiResponse<Void> response = ApiResponse.<Void>builder()
+                .timestamp(java.time.LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message("Serviço temporariamente indisponível")
+                .error(errorDetail)
+                .build();
+
+        log.warn("Requisição rejeitada por sobrecarga em {}: {}", request.getRequestURI(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     @ExceptionHandler(NoHandlerFoundException.class)
     public ResponseEntity<ApiResponse<Void>> handleNoHandlerFound(
             NoHandlerFoundException ex,
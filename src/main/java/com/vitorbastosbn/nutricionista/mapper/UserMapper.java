@@ -4,6 +4,7 @@ import com.vitorbastosbn.nutricionista.domain.dto.request.AddressRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.request.ContactRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.request.RegisterRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.request.UpdateUserAddressRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.request.UpdateUserRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.request.UpdateUserContactRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.response.UserResponse;
 import com.vitorbastosbn.nutricionista.domain.dto.response.AddressResponse;
@@ -45,6 +46,15 @@ public interface UserMapper {
 
     RoleResponse toRoleResponse(Role role);
 
+    /**
+     * Estado atual do usuário no formato das requisições de atualização, base para aplicar um merge patch
+     */
+    UpdateUserRequest toUpdateUserRequest(User user);
+
+    UpdateUserAddressRequest toUpdateUserAddressRequest(Address address);
+
+    UpdateUserContactRequest toUpdateUserContactRequest(Contact contact);
+
     /**
      * Atualiza um Address entity existente com dados do UpdateUserAddressRequest
      * Ignora o ID para não sobrescrever
@@ -68,5 +78,5 @@ public interface UserMapper {
     @Mapping(target = "roles", ignore = true)
     @Mapping(target = "address", ignore = true)
     @Mapping(target = "contact", ignore = true)
-    void updateUserFromRequest(com.vitorbastosbn.nutricionista.domain.dto.request.UpdateUserRequest request, @MappingTarget User user);
+    void updateUserFromRequest(UpdateUserRequest request, @MappingTarget User user);
 }
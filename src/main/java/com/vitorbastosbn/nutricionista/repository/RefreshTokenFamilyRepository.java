@@ -0,0 +1,53 @@
+package com.vitorbastosbn.nutricionista.repository;
+
+import com.vitorbastosbn.nutricionista.entity.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, UUID> {
+
+    /**
+     * Busca a família pelo hash do refresh token vigente (índice único), já com o usuário e suas roles.
+     */
+    @EntityGraph(attributePaths = {"user", "user.roles"})
+    Optional<RefreshTokenFamily> findByTokenHash(String tokenHash);
+
+    /**
+     * Substitui o token vigente somente se ele ainda for o informado, evitando que duas
+     * renovações concorrentes com o mesmo token sejam aceitas.
+     *
+     * @return quantidade de linhas atualizadas (0 se o token já tinha sido renovado)
+     */
+    @Modifying
+    @Query("""
+            update RefreshTokenFamily f
+               set f.tokenHash = :newHash, f.rotatedAt = :now, f.expiresAt = :expiresAt
+             where f.id = :id and f.tokenHash = :currentHash and f.revoked = false
+            """)
+    int rotate(@Param("id") UUID id,
+               @Param("currentHash") String currentHash,
+               @Param("newHash") String newHash,
+               @Param("now") Instant now,
+               @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.revoked = true where f.id = :id and f.revoked = false")
+    int revoke(@Param("id") UUID id);
+
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.revoked = true where f.user.id = :userId and f.revoked = false")
+    int revokeAllByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("delete from RefreshTokenFamily f where f.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
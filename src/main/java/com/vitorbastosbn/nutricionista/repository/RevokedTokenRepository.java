@@ -0,0 +1,24 @@
+package com.vitorbastosbn.nutricionista.repository;
+
+import com.vitorbastosbn.nutricionista.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Revogações registradas a partir do instante informado e ainda não expiradas (sincronização incremental).
+     */
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfterOrderByRevokedAtAsc(Instant revokedAfter, Instant now);
+
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -1,8 +1,11 @@
 package com.vitorbastosbn.nutricionista.repository;
 
 import com.vitorbastosbn.nutricionista.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,11 +14,13 @@ import java.util.UUID;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, UUID>, JpaSpecificationExecutor<Role> {
     /**
-     * Encontra uma role pelo nome
+     * Encontra uma role pelo nome. O resultado fica no cache de consultas (chamada a cada cadastro
+     * para obter ROLE_USER) e é invalidado a cada escrita na tabela roles.
      *
      * @param name Nome da role (ex: "ROLE_USER", "ROLE_ADMIN")
      * @return Optional contendo a role se encontrada
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(String name);
 }
 
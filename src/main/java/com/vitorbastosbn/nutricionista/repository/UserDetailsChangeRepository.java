@@ -0,0 +1,25 @@
+package com.vitorbastosbn.nutricionista.repository;
+
+import com.vitorbastosbn.nutricionista.entity.UserDetailsChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserDetailsChangeRepository extends JpaRepository<UserDetailsChange, UUID> {
+
+    /**
+     * Alterações registradas a partir do instante informado (sincronização incremental).
+     */
+    List<UserDetailsChange> findByChangedAtAfterOrderByChangedAtAsc(Instant changedAfter);
+
+    @Modifying
+    @Query("delete from UserDetailsChange c where c.changedAt < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
@@ -1,18 +1,101 @@
 package com.vitorbastosbn.nutricionista.repository;
 
+import com.vitorbastosbn.nutricionista.domain.dto.response.UserSuggestionResponse;
 import com.vitorbastosbn.nutricionista.entity.User;
+import com.vitorbastosbn.nutricionista.repository.projection.UserRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User> {
+
+    String USER_ROW_SELECT = """
+            select new com.vitorbastosbn.nutricionista.repository.projection.UserRow(
+                u.id, u.fullName, u.birthDate, u.email, u.version,
+                a.id, a.street, a.number, a.complement, a.neighborhood, a.city, a.state, a.zipCode, a.country,
+                c.id, c.emergencyContact, c.emergencyPhone, c.phoneNumber, c.alternativePhone, c.whatsapp,
+                r.id, r.name, r.description)
+            from User u
+            left join u.address a
+            left join u.contact c
+            left join u.roles r
+            """;
+
     Optional<User> findByEmail(String email);
 
+    /**
+     * Busca o usuário pelo email carregando as roles na mesma consulta (fetch join),
+     * evitando a segunda ida ao banco ao montar as authorities no login.
+     */
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByEmail(String email);
+
+    /**
+     * Caminho de leitura sem entidades: usuário, endereço, contato e roles projetados direto em {@link UserRow},
+     * uma linha por role. Não há snapshot de dirty checking e o flush automático antes da consulta é desligado.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query(USER_ROW_SELECT + "where u.id = :id")
+    List<UserRow> findRowsById(@Param("id") UUID id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query(USER_ROW_SELECT + "where u.email = :email")
+    List<UserRow> findRowsByEmail(@Param("email") String email);
+
+    /**
+     * Projeta os usuários de uma página já selecionada. A ordem das linhas não é garantida;
+     * quem chama reordena pelos ids da página.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query(USER_ROW_SELECT + "where u.id in :ids")
+    List<UserRow> findRowsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Percorre id, nome e email de todos os usuários sem carregar as entidades, para montar o índice de autocompletar.
+     * Deve ser consumido dentro de uma transação.
+     */
+    @Query("select new com.vitorbastosbn.nutricionista.domain.dto.response.UserSuggestionResponse(u.id, u.fullName, u.email) from User u")
+    Stream<UserSuggestionResponse> streamSuggestions();
+
+    /**
+     * Carrega o usuário com endereço e contato para uma atualização parcial. As roles não são tocadas.
+     */
+    @EntityGraph(attributePaths = {"address", "contact"})
+    Optional<User> findWithAddressAndContactById(UUID id);
+
+    @EntityGraph(attributePaths = {"address", "contact"})
+    Optional<User> findWithAddressAndContactByEmail(String email);
+
     boolean existsByEmail(String email);
+
+    /**
+     * Dentre os emails informados, retorna os que já estão cadastrados. Usado pela importação em massa
+     * para checar um lote inteiro com uma consulta.
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
 
 
@@ -0,0 +1,97 @@
+package com.vitorbastosbn.nutricionista.repository.projection;
+
+import com.vitorbastosbn.nutricionista.domain.dto.response.AddressResponse;
+import com.vitorbastosbn.nutricionista.domain.dto.response.ContactResponse;
+import com.vitorbastosbn.nutricionista.domain.dto.response.RoleResponse;
+import com.vitorbastosbn.nutricionista.domain.dto.response.UserResponse;
+import com.vitorbastosbn.nutricionista.entity.enums.State;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Linha plana de usuário com endereço, contato e uma role, preenchida por expressão construtora JPQL.
+ *
+ * <p>Não é entidade: não entra no contexto de persistência, não tem snapshot para dirty checking
+ * nem proxies. Um usuário com N roles ocupa N linhas, agrupadas por {@link #toResponses(Collection)}.
+ */
+public record UserRow(
+        UUID id,
+        String fullName,
+        LocalDate birthDate,
+        String email,
+        Long version,
+        UUID addressId,
+        String street,
+        String number,
+        String complement,
+        String neighborhood,
+        String city,
+        State state,
+        String zipCode,
+        String country,
+        UUID contactId,
+        String emergencyContact,
+        String emergencyPhone,
+        String phoneNumber,
+        String alternativePhone,
+        Boolean whatsapp,
+        UUID roleId,
+        String roleName,
+        String roleDescription
+) {
+
+    /**
+     * Agrupa as linhas por usuário, preservando a ordem em que os usuários aparecem pela primeira vez.
+     */
+    public static List<UserResponse> toResponses(Collection<UserRow> rows) {
+        Map<UUID, UserResponse> users = new LinkedHashMap<>();
+        for (UserRow row : rows) {
+            UserResponse user = users.computeIfAbsent(row.id(), id -> row.toUserResponse());
+            if (row.roleId() != null) {
+                user.getRoles().add(new RoleResponse(row.roleId(), row.roleName(), row.roleDescription()));
+            }
+        }
+        return new ArrayList<>(users.values());
+    }
+
+    private UserResponse toUserResponse() {
+        AddressResponse address = addressId == null ? null : AddressResponse.builder()
+                .id(addressId)
+                .street(street)
+                .number(number)
+                .complement(complement)
+                .neighborhood(neighborhood)
+                .city(city)
+                .state(state)
+                .zipCode(zipCode)
+                .country(country)
+                .build();
+
+        ContactResponse contact = contactId == null ? null : ContactResponse.builder()
+                .id(contactId)
+                .emergencyContact(emergencyContact)
+                .emergencyPhone(emergencyPhone)
+                .phoneNumber(phoneNumber)
+                .alternativePhone(alternativePhone)
+                .whatsapp(Boolean.TRUE.equals(whatsapp))
+                .build();
+
+        return UserResponse.builder()
+                .id(id)
+                .fullName(fullName)
+                .birthDate(birthDate)
+                .email(email)
+                .address(address)
+                .contact(contact)
+                .roles(new HashSet<>())
+                .version(version)
+                .build();
+    }
+}
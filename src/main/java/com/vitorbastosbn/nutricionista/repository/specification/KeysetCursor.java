@@ -0,0 +1,136 @@
+package com.vitorbastosbn.nutricionista.repository.specification;
+
+import com.vitorbastosbn.nutricionista.exception.BusinessException;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Posição de uma paginação por keyset (seek): a propriedade de ordenação, a direção e a chave
+ * {@code (valor, id)} do último item entregue. A próxima página é buscada a partir dessa chave
+ * em vez de {@code OFFSET}, com custo constante independente da profundidade, usando como faixa
+ * o índice composto {@code (propriedade, id)} declarado na entidade.
+ *
+ * <p>O cliente recebe a posição como um token opaco (Base64 URL-safe).
+ *
+ * @param property  Propriedade de ordenação (não nula no banco)
+ * @param direction Direção da ordenação; o id desempata na mesma direção
+ * @param value     Valor da propriedade no último item, {@code null} quando a propriedade é o próprio id
+ * @param id        ID do último item, {@code null} na primeira página
+ */
+public record KeysetCursor(String property, Sort.Direction direction, String value, UUID id) {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String ID_PROPERTY = "id";
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Valida o tamanho de página pedido e o limita a {@link #MAX_PAGE_SIZE}.
+     */
+    public static int pageSize(int requested) {
+        if (requested < 1) {
+            throw new BusinessException("O tamanho da página deve ser maior que zero");
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Posição inicial a partir do parâmetro {@code sort} no formato {@code propriedade(,asc|desc)}.
+     */
+    public static KeysetCursor start(String sort, Set<String> allowedProperties) {
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        Sort.Direction direction = parts.length > 1 && parts[1].trim().equalsIgnoreCase("desc")
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        validateProperty(property, allowedProperties);
+        return new KeysetCursor(property, direction, null, null);
+    }
+
+    public static KeysetCursor decode(String token, Set<String> allowedProperties) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // propriedade:direção:id:valor — o valor fica por último e pode conter o separador
+            String[] parts = decoded.split(String.valueOf(SEPARATOR), 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Formato inesperado");
+            }
+            validateProperty(parts[0], allowedProperties);
+            String value = ID_PROPERTY.equals(parts[0]) ? null : parts[3];
+            return new KeysetCursor(parts[0], Sort.Direction.fromString(parts[1]), value, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+
+    public String encode() {
+        String raw = property + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR + (value != null ? value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Posição logo após o item informado, mantendo a mesma ordenação.
+     */
+    public KeysetCursor after(String lastValue, UUID lastId) {
+        return new KeysetCursor(property, direction, ID_PROPERTY.equals(property) ? null : lastValue, lastId);
+    }
+
+    /**
+     * Ordenação total e estável: a propriedade escolhida e o id como desempate.
+     */
+    public Sort toSort() {
+        Sort sort = Sort.by(direction, property);
+        return ID_PROPERTY.equals(property) ? sort : sort.and(Sort.by(direction, ID_PROPERTY));
+    }
+
+    /**
+     * Predicado que seleciona apenas os itens posteriores à posição. Combinado com os filtros
+     * existentes via {@link Specification#and(Specification)}.
+     *
+     * <p>Para propriedades diferentes do id gera a comparação de linha expandida
+     * {@code propriedade >= ? and (propriedade > ? or (propriedade = ? and id > ?))}. O primeiro termo,
+     * redundante, dá ao PostgreSQL o início da faixa no índice composto, que o {@code or} sozinho não daria.
+     */
+    public <T> Specification<T> toSpecification() {
+        return (root, query, criteriaBuilder) -> {
+            if (id == null) {
+                return criteriaBuilder.conjunction();
+            }
+
+            boolean ascending = direction.isAscending();
+            if (ID_PROPERTY.equals(property)) {
+                return ascending
+                        ? criteriaBuilder.greaterThan(root.<UUID>get(ID_PROPERTY), id)
+                        : criteriaBuilder.lessThan(root.<UUID>get(ID_PROPERTY), id);
+            }
+
+            Path<String> key = root.get(property);
+            Path<UUID> keyId = root.get(ID_PROPERTY);
+            if (ascending) {
+                return criteriaBuilder.and(
+                        criteriaBuilder.greaterThanOrEqualTo(key, value),
+                        criteriaBuilder.or(
+                                criteriaBuilder.greaterThan(key, value),
+                                criteriaBuilder.and(criteriaBuilder.equal(key, value), criteriaBuilder.greaterThan(keyId, id))));
+            }
+            return criteriaBuilder.and(
+                    criteriaBuilder.lessThanOrEqualTo(key, value),
+                    criteriaBuilder.or(
+                            criteriaBuilder.lessThan(key, value),
+                            criteriaBuilder.and(criteriaBuilder.equal(key, value), criteriaBuilder.lessThan(keyId, id))));
+        };
+    }
+
+    private static void validateProperty(String property, Set<String> allowedProperties) {
+        if (!allowedProperties.contains(property)) {
+            throw new BusinessException("Ordenação não suportada na paginação por cursor: " + property
+                    + ". Use uma de " + allowedProperties);
+        }
+    }
+}
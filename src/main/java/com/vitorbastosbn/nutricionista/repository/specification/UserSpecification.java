@@ -1,23 +1,55 @@
 package com.vitorbastosbn.nutricionista.repository.specification;
 
 import com.vitorbastosbn.nutricionista.entity.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Filtros de usuário apoiados nos índices GIN trigram de {@code db/search-indexes.sql}.
+ *
+ * <p>As expressões geradas ({@code immutable_unaccent(lower(full_name))} e {@code lower(email)})
+ * são exatamente as expressões indexadas, então {@code LIKE '%termo%'} deixa de ser um scan
+ * sequencial. O nome é comparado sem acentos: "joao" encontra "João" e "conceicao" encontra "Conceição".
+ */
 public class UserSpecification {
 
+    private static final String UNACCENT_FUNCTION = "immutable_unaccent";
+
     private UserSpecification() {
         throw new UnsupportedOperationException("Classe utilitária não deve ser instanciada");
     }
 
+    /**
+     * Combina os filtros das listagens: {@code search} em nome ou email, ou então {@code fullName} e {@code email}.
+     */
+    public static Specification<User> filter(String fullName, String email, String search) {
+        Specification<User> spec = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
+
+        if (search != null && !search.isBlank()) {
+            spec = spec.and(searchByFullNameOrEmail(search));
+        } else {
+            if (fullName != null && !fullName.isBlank()) {
+                spec = spec.and(hasFullName(fullName));
+            }
+            if (email != null && !email.isBlank()) {
+                spec = spec.and(hasEmail(email));
+            }
+        }
+
+        return spec;
+    }
+
     public static Specification<User> hasFullName(String fullName) {
         return (root, query, criteriaBuilder) -> {
             if (fullName == null || fullName.isBlank()) {
                 return criteriaBuilder.conjunction();
             }
-            return criteriaBuilder.like(
-                    criteriaBuilder.lower(root.get("fullName")),
-                    "%" + fullName.toLowerCase() + "%"
-            );
+            return criteriaBuilder.like(fullNameExpression(root, criteriaBuilder), "%" + normalize(fullName) + "%");
         };
     }
 
@@ -26,10 +58,7 @@ public class UserSpecification {
             if (email == null || email.isBlank()) {
                 return criteriaBuilder.conjunction();
             }
-            return criteriaBuilder.like(
-                    criteriaBuilder.lower(root.get("email")),
-                    "%" + email.toLowerCase() + "%"
-            );
+            return criteriaBuilder.like(emailExpression(root, criteriaBuilder), "%" + email.toLowerCase(Locale.ROOT) + "%");
         };
     }
 
@@ -38,12 +67,46 @@ public class UserSpecification {
             if (search == null || search.isBlank()) {
                 return criteriaBuilder.conjunction();
             }
-            String searchPattern = "%" + search.toLowerCase() + "%";
+            String term = normalize(search);
+            String searchPattern = "%" + term + "%";
             return criteriaBuilder.or(
-                    criteriaBuilder.like(criteriaBuilder.lower(root.get("fullName")), searchPattern),
-                    criteriaBuilder.like(criteriaBuilder.lower(root.get("email")), searchPattern)
+                    criteriaBuilder.like(fullNameExpression(root, criteriaBuilder), searchPattern),
+                    criteriaBuilder.like(emailExpression(root, criteriaBuilder), searchPattern)
             );
         };
     }
-}
 
+    /**
+     * Ordena pela relevância do termo (maior similaridade trigram entre nome e email), com o id como desempate.
+     * Aplicada quando a busca é feita sem ordenação explícita.
+     */
+    public static Specification<User> orderByRelevance(String search) {
+        return (root, query, criteriaBuilder) -> {
+            if (search == null || search.isBlank() || query == null || Long.class == query.getResultType()) {
+                return criteriaBuilder.conjunction();
+            }
+            Expression<String> term = criteriaBuilder.literal(normalize(search));
+            Expression<Double> relevance = criteriaBuilder.function("greatest", Double.class,
+                    criteriaBuilder.function("similarity", Double.class, fullNameExpression(root, criteriaBuilder), term),
+                    criteriaBuilder.function("similarity", Double.class, emailExpression(root, criteriaBuilder), term));
+            query.orderBy(criteriaBuilder.desc(relevance), criteriaBuilder.asc(root.get("id")));
+            return criteriaBuilder.conjunction();
+        };
+    }
+
+    /**
+     * Normaliza o termo da mesma forma que o banco: minúsculas e sem acentos.
+     */
+    public static String normalize(String term) {
+        String lower = term.trim().toLowerCase(Locale.ROOT);
+        return Normalizer.normalize(lower, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+
+    private static Expression<String> fullNameExpression(Root<User> root, CriteriaBuilder criteriaBuilder) {
+        return criteriaBuilder.function(UNACCENT_FUNCTION, String.class, criteriaBuilder.lower(root.get("fullName")));
+    }
+
+    private static Expression<String> emailExpression(Root<User> root, CriteriaBuilder criteriaBuilder) {
+        return criteriaBuilder.lower(root.get("email"));
+    }
+}
@@ -12,11 +12,14 @@ import com.vitorbastosbn.nutricionista.repository.RoleRepository;
 import com.vitorbastosbn.nutricionista.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -33,38 +36,71 @@ public class AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final RefreshTokenService refreshTokenService;
     private final UserDetailsService userDetailsService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final UserMapper userMapper;
-
+    private final TokenRevocationService tokenRevocationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Autentica sem transação aberta durante a verificação da senha: a consulta e a emissão dos
+     * tokens usam transações curtas, então nenhuma conexão do pool fica presa aguardando o hashing.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse login(LoginRequest request) {
-        User user = userRepository.findByEmail(request.email())
-                .orElseThrow(() -> {
-                    log.warn("Tentativa de login com email não encontrado: {}", request.email());
-                    return new BusinessException("Email ou senha inválidos");
-                });
+        // Uma única consulta carrega o usuário e suas roles
+        User user = userRepository.findWithRolesByEmail(request.email()).orElse(null);
+
+        if (user == null) {
+            // Mantém o custo de um hash real para não revelar se o email existe
+            passwordHashingService.matchesDummy(request.password());
+            log.warn("Tentativa de login com email não encontrado: {}", request.email());
+            throw new BusinessException("Email ou senha inválidos");
+        }
 
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.password(), user.getPassword())) {
             log.warn("Tentativa de login com senha inválida para email: {}", request.email());
             throw new BusinessException("Email ou senha inválidos");
         }
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String accessToken = jwtTokenProvider.generateAccessToken(userDetails);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails);
+        // Reprocessa hashes gerados com algoritmo ou parâmetros desatualizados
+        String rehashedPassword = passwordHashingService.needsRehash(user.getPassword())
+                ? passwordHashingService.encode(request.password())
+                : null;
 
-        log.info("Login bem-sucedido para usuário: {}", user.getEmail());
-        return buildAuthResponse(user, accessToken, refreshToken);
+        return transactionTemplate.execute(status -> completeLogin(user, rehashedPassword));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.email())) {
             log.warn("Tentativa de registro com email já existente: {}", request.email());
             throw new BusinessException("Este email já está cadastrado no sistema");
         }
 
-        User user = userMapper.toUserEntity(request);
+        // Hash calculado antes da transação, sem segurar uma conexão do pool enquanto aguarda o pool de hashing
+        String encryptedPassword = passwordHashingService.encode(request.password());
+        return transactionTemplate.execute(status -> createUser(request, encryptedPassword));
+    }
 
-        String encryptedPassword = passwordEncoder.encode(request.password());
+    private AuthResponse completeLogin(User user, String rehashedPassword) {
+        if (rehashedPassword != null) {
+            user.setPassword(rehashedPassword);
+            userRepository.save(user);
+            eventPublisher.publishEvent(new UserDetailsChangedEvent(user.getEmail()));
+            log.info("Hash de senha atualizado para usuário: {}", user.getEmail());
+        }
+
+        // A própria entidade já carregada é o UserDetails usado na emissão dos tokens
+        String accessToken = jwtTokenProvider.generateAccessToken(user);
+        String refreshToken = refreshTokenService.issue(user);
+
+        log.info("Login bem-sucedido para usuário: {}", user.getEmail());
+        return buildAuthResponse(user, accessToken, refreshToken);
+    }
+
+    private AuthResponse createUser(RegisterRequest request, String encryptedPassword) {
+        User user = userMapper.toUserEntity(request);
         user.setPassword(encryptedPassword);
 
         Role userRole = roleRepository.findByName("ROLE_USER")
@@ -74,26 +110,50 @@ public class AuthService {
         user.setRoles(roles);
 
         user = userRepository.save(user);
+        eventPublisher.publishEvent(UserProfileChangedEvent.saved(user));
         log.info("Novo usuário registrado: {}", user.getEmail());
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
         String accessToken = jwtTokenProvider.generateAccessToken(userDetails);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails);
+        String refreshToken = refreshTokenService.issue(user);
 
         return buildAuthResponse(user, accessToken, refreshToken);
     }
 
+    @Transactional(noRollbackFor = BusinessException.class)
     public AuthResponse refreshAccessToken(RefreshTokenRequest request) {
-        UserDetails userDetails = refreshTokenService.validateRefreshToken(request.refreshToken());
+        // Rotação do refresh token: o token apresentado deixa de valer e o reuso revoga a família
+        RefreshTokenService.RotatedToken rotation = refreshTokenService.rotate(request.refreshToken());
+        User user = rotation.user();
 
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new BusinessException("Usuário não encontrado"));
-
-        String newAccessToken = jwtTokenProvider.generateAccessToken(userDetails);
-        String newRefreshToken = jwtTokenProvider.generateRefreshToken(userDetails);
+        String newAccessToken = jwtTokenProvider.generateAccessToken(user);
 
         log.info("Refresh token renovado para usuário: {}", user.getEmail());
-        return buildAuthResponse(user, newAccessToken, newRefreshToken);
+        return buildAuthResponse(user, newAccessToken, rotation.refreshToken());
+    }
+
+    public void logout(RefreshTokenRequest request, String accessToken) {
+        // O refresh token é revogado primeiro; um access token inválido não desfaz o logout
+        refreshTokenService.revoke(request.refreshToken());
+
+        // O access token em uso também deixa de valer imediatamente, sem esperar a expiração
+        if (StringUtils.hasText(accessToken)) {
+            revokeAccessToken(accessToken);
+        }
+    }
+
+    private void revokeAccessToken(String accessToken) {
+        VerifiedToken token;
+        try {
+            token = jwtTokenProvider.verify(accessToken);
+        } catch (BusinessException ex) {
+            // Token inválido ou já expirado: não há o que revogar
+            log.debug("Access token ignorado no logout: {}", ex.getMessage());
+            return;
+        }
+        if (token.isAccessToken()) {
+            tokenRevocationService.revoke(token);
+        }
     }
 
     private AuthResponse buildAuthResponse(User user, String accessToken, String refreshToken) {
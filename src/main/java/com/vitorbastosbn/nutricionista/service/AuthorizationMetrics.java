@@ -0,0 +1,103 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latência das verificações de {@code @PreAuthorize} por endpoint e modo de avaliação de cada expressão.
+ *
+ * <p>A latência vai da criação do contexto de avaliação até o resultado da expressão, que é todo o
+ * custo de autorização pago pela requisição antes de entrar no método.
+ */
+@Component
+public class AuthorizationMetrics {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, EvaluationMode> expressionModes = new ConcurrentHashMap<>();
+
+    /**
+     * Contadores do endpoint, criados no primeiro acesso. Quem chama deve guardar a referência.
+     */
+    public Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, Endpoint::new);
+    }
+
+    public void expressionMode(String expression, EvaluationMode mode) {
+        expressionModes.put(expression, mode);
+    }
+
+    public AuthorizationStats stats() {
+        List<EndpointStats> endpointStats = endpoints.values().stream()
+                .map(Endpoint::stats)
+                .sorted(Comparator.comparing(EndpointStats::endpoint))
+                .toList();
+        long evaluations = endpointStats.stream().mapToLong(EndpointStats::evaluations).sum();
+        long denied = endpointStats.stream().mapToLong(EndpointStats::denied).sum();
+        List<ExpressionStats> expressionStats = expressionModes.entrySet().stream()
+                .map(entry -> new ExpressionStats(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(ExpressionStats::expression))
+                .toList();
+        return new AuthorizationStats(evaluations, denied, endpointStats, expressionStats);
+    }
+
+    /**
+     * Como uma expressão está sendo avaliada: interpretada, compilada em bytecode, ou interpretada
+     * após uma falha do código compilado.
+     */
+    public enum EvaluationMode {
+        INTERPRETED,
+        COMPILED,
+        FALLBACK
+    }
+
+    public static final class Endpoint {
+
+        private final String name;
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder denied = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private Endpoint(String name) {
+            this.name = name;
+        }
+
+        public void record(long nanos, boolean granted) {
+            evaluations.increment();
+            if (!granted) {
+                denied.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private EndpointStats stats() {
+            long count = evaluations.sum();
+            double averageMicros = count == 0 ? 0.0 : totalNanos.sum() / 1_000.0 / count;
+            return new EndpointStats(name, count, denied.sum(), averageMicros, maxNanos.get() / 1_000.0);
+        }
+    }
+
+    /**
+     * Estatísticas de autorização de métodos.
+     */
+    public record AuthorizationStats(
+            long evaluations,
+            long denied,
+            List<EndpointStats> endpoints,
+            List<ExpressionStats> expressions
+    ) {
+    }
+
+    public record EndpointStats(String endpoint, long evaluations, long denied, double averageMicros, double maxMicros) {
+    }
+
+    public record ExpressionStats(String expression, EvaluationMode mode) {
+    }
+}
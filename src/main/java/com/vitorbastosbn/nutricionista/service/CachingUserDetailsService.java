@@ -0,0 +1,282 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.entity.UserDetailsChange;
+import com.vitorbastosbn.nutricionista.repository.UserDetailsChangeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorador do {@link CustomUserDetailsService} que mantém em cache {@link UserDetailsSnapshot}s
+ * imutáveis, limitados por quantidade de entradas e por TTL.
+ *
+ * <p>As entradas são invalidadas pelo {@link UserDetailsChangedEvent} após o commit da transação
+ * que alterou o usuário. Um contador de gerações impede que uma leitura iniciada antes da
+ * invalidação grave no cache um snapshot já desatualizado.
+ *
+ * <p>Para os demais nós, cada evento também é gravado na tabela {@code user_details_changes} na mesma
+ * transação da alteração. Cada nó importa periodicamente as alterações novas e invalida as entradas
+ * correspondentes, como a sincronização de {@code revoked_tokens}: uma role revogada, um usuário removido
+ * ou um email alterado em outro nó deixa de valer aqui em até {@code sync-interval-ms}, e não em {@code ttl-seconds}.
+ */
+@Slf4j
+@Primary
+@Service
+@RequiredArgsConstructor
+public class CachingUserDetailsService implements UserDetailsService {
+
+    private static final int SEGMENTS = 16;
+
+    private final CustomUserDetailsService delegate;
+    private final UserDetailsChangeRepository changeRepository;
+
+    @Value("${app.security.user-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.security.user-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.security.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.security.user-cache.sync-overlap-seconds:30}")
+    private long syncOverlapSeconds;
+
+    @Value("${app.security.user-cache.change-retention-seconds:3600}")
+    private long changeRetentionSeconds;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    // Alterações já aplicadas dentro da janela de sobreposição, para não invalidar de novo a cada sincronização
+    private final Map<UUID, Instant> appliedChanges = new ConcurrentHashMap<>();
+    private volatile Instant watermark = Instant.now();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private Segment[] segments;
+    private long ttlNanos;
+
+    @PostConstruct
+    void init() {
+        int segmentCapacity = Math.max(1, maxEntries / SEGMENTS);
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    @Override
+    public @NonNull UserDetails loadUserByUsername(@NonNull String email) throws UsernameNotFoundException {
+        if (!enabled) {
+            return UserDetailsSnapshot.from(delegate.loadUser(email));
+        }
+
+        // Chave igual ao email, com a mesma comparação exata feita pelo banco
+        String key = email;
+        Segment segment = segmentFor(key);
+        long now = System.nanoTime();
+
+        CachedEntry cached = segment.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() - now > 0) {
+                hits.increment();
+                return cached.snapshot();
+            }
+            segment.remove(key);
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        UserDetailsSnapshot snapshot = UserDetailsSnapshot.from(delegate.loadUser(email));
+
+        // Só guarda se nenhuma invalidação ocorreu durante a leitura
+        if (generation.get() == loadGeneration) {
+            segment.put(key, new CachedEntry(snapshot, now + ttlNanos));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Registra a alteração para os demais nós, na transação que a fez: se ela sofrer rollback, o registro também some.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void recordChange(UserDetailsChangedEvent event) {
+        changeRepository.save(UserDetailsChange.builder()
+                .email(event.email())
+                .changedAt(Instant.now())
+                .build());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDetailsChanged(UserDetailsChangedEvent event) {
+        invalidate(event.email());
+    }
+
+    /**
+     * Importa as alterações registradas por qualquer nó desde a última sincronização e invalida as entradas.
+     * A janela de sobreposição tolera diferenças de relógio entre os nós.
+     */
+    @Scheduled(fixedDelayString = "${app.security.user-cache.sync-interval-ms:5000}")
+    public void syncChanges() {
+        if (!enabled) {
+            return;
+        }
+
+        Instant since = watermark.minusSeconds(syncOverlapSeconds);
+        List<UserDetailsChange> changes = changeRepository.findByChangedAtAfterOrderByChangedAtAsc(since);
+
+        Instant latest = watermark;
+        for (UserDetailsChange change : changes) {
+            if (appliedChanges.putIfAbsent(change.getId(), change.getChangedAt()) == null) {
+                invalidate(change.getEmail());
+            }
+            if (change.getChangedAt().isAfter(latest)) {
+                latest = change.getChangedAt();
+            }
+        }
+        watermark = latest;
+
+        Instant applyWindow = latest.minusSeconds(syncOverlapSeconds);
+        Iterator<Instant> applied = appliedChanges.values().iterator();
+        while (applied.hasNext()) {
+            if (applied.next().isBefore(applyWindow)) {
+                applied.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove do banco as alterações que todos os nós já tiveram tempo de importar.
+     */
+    @Scheduled(fixedDelayString = "${app.security.user-cache.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deleteOldChanges() {
+        int deleted = changeRepository.deleteOlderThan(Instant.now().minusSeconds(changeRetentionSeconds));
+        if (deleted > 0) {
+            log.info("{} alterações de usuários antigas removidas", deleted);
+        }
+    }
+
+    private void invalidate(String email) {
+        if (!enabled) {
+            return;
+        }
+        generation.incrementAndGet();
+        invalidations.increment();
+
+        if (email == null) {
+            clear();
+            log.debug("Cache de usuários invalidado por completo");
+            return;
+        }
+
+        segmentFor(email).remove(email);
+        log.debug("Cache de usuários invalidado para: {}", email);
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public UserCacheStats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        double hitRatio = requests == 0 ? 0.0 : (double) hitCount / requests;
+        return new UserCacheStats(hitCount, missCount, evictions.sum(), invalidations.sum(), size,
+                (long) SEGMENTS * segments[0].capacity, hitRatio);
+    }
+
+    private Segment segmentFor(String key) {
+        return segments[(key.hashCode() & Integer.MAX_VALUE) % SEGMENTS];
+    }
+
+    /**
+     * Estatísticas do cache de usuários.
+     */
+    public record UserCacheStats(
+            long hits,
+            long misses,
+            long evictions,
+            long invalidations,
+            long size,
+            long maxEntries,
+            double hitRatio
+    ) {
+    }
+
+    private record CachedEntry(UserDetailsSnapshot snapshot, long expiresAt) {
+    }
+
+    private final class Segment {
+
+        private final int capacity;
+        private final LinkedHashMap<String, CachedEntry> entries;
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedEntry> eldest) {
+                    if (size() > Segment.this.capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized CachedEntry get(String key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(String key, CachedEntry entry) {
+            entries.put(key, entry);
+        }
+
+        synchronized void remove(String key) {
+            entries.remove(key);
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.vitorbastosbn.nutricionista.service;
 
+import com.vitorbastosbn.nutricionista.entity.User;
 import com.vitorbastosbn.nutricionista.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
@@ -18,7 +19,15 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Override
     @Transactional(readOnly = true)
     public @NonNull UserDetails loadUserByUsername(@NonNull String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email)
+        return loadUser(email);
+    }
+
+    /**
+     * Carrega o usuário já com as roles inicializadas, para que possa ser copiado fora da transação.
+     */
+    @Transactional(readOnly = true)
+    public User loadUser(String email) throws UsernameNotFoundException {
+        return userRepository.findWithRolesByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + email));
     }
 }
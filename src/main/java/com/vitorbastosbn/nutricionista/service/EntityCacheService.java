@@ -0,0 +1,86 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.config.LocalCacheRegionFactory;
+import com.vitorbastosbn.nutricionista.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Acesso ao cache de segundo nível do Hibernate: métricas por região e invalidações que o Hibernate
+ * não consegue fazer sozinho.
+ *
+ * <p>Entidades {@code Role} e a consulta {@code findByName} são invalidadas automaticamente em cada
+ * escrita pelo JPA. A coleção {@code User.roles} em cache, porém, não é atualizada quando uma role é
+ * removida pelo lado inverso da associação, então quem altera vínculos fora da entidade dona chama
+ * {@link #evictRoleAssignmentsAfterCommit()}.
+ *
+ * <p>As invalidações são locais: outros nós só deixam de ver a versão antiga quando a entrada expira
+ * ({@code hibernate.cache.local.ttl-seconds}, ver {@link LocalCacheRegionFactory}).
+ */
+@Slf4j
+@Service
+public class EntityCacheService {
+
+    private static final String USER_ROLES_REGION = User.class.getName() + ".roles";
+
+    private final CacheImplementor cache;
+
+    public EntityCacheService(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+    }
+
+    /**
+     * Remove do cache as roles de todos os usuários após o commit da transação atual (ou já, sem transação).
+     */
+    public void evictRoleAssignmentsAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictRoleAssignments();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictRoleAssignments();
+            }
+        });
+    }
+
+    public SecondLevelCacheStats stats() {
+        RegionFactory regionFactory = cache.getRegionFactory();
+        if (!(regionFactory instanceof LocalCacheRegionFactory localFactory)) {
+            return new SecondLevelCacheStats(false, 0, 0, 0.0, List.of());
+        }
+
+        List<LocalCacheRegionFactory.RegionStats> regions = localFactory.stats();
+        long hitCount = regions.stream().mapToLong(LocalCacheRegionFactory.RegionStats::hits).sum();
+        long missCount = regions.stream().mapToLong(LocalCacheRegionFactory.RegionStats::misses).sum();
+        long requests = hitCount + missCount;
+        double hitRatio = requests == 0 ? 0.0 : (double) hitCount / requests;
+        return new SecondLevelCacheStats(true, hitCount, missCount, hitRatio, regions);
+    }
+
+    private void evictRoleAssignments() {
+        cache.evictCollectionData(USER_ROLES_REGION);
+        log.debug("Roles dos usuários removidas do cache de segundo nível");
+    }
+
+    /**
+     * Estatísticas do cache de segundo nível, no total e por região.
+     */
+    public record SecondLevelCacheStats(
+            boolean enabled,
+            long hits,
+            long misses,
+            double hitRatio,
+            List<LocalCacheRegionFactory.RegionStats> regions
+    ) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.exception.BusinessException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aplica um JSON Merge Patch (RFC 7396) sobre um record de requisição plano.
+ *
+ * <p>Campos ausentes no patch mantêm o valor atual, {@code null} limpa o campo e qualquer outro
+ * valor o substitui. O resultado passa pelas mesmas validações da requisição completa.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonMergePatcher {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public <T extends Record> T apply(T current, JsonNode patch, Class<T> type) {
+        if (patch == null || !patch.isObject()) {
+            throw new BusinessException("O merge patch deve ser um objeto JSON");
+        }
+
+        ObjectNode merged = objectMapper.valueToTree(current);
+        for (Map.Entry<String, JsonNode> field : patch.properties()) {
+            if (!hasComponent(type, field.getKey())) {
+                throw new BusinessException("Campo não suportado no merge patch: " + field.getKey());
+            }
+            merged.set(field.getKey(), field.getValue());
+        }
+
+        T result;
+        try {
+            result = objectMapper.treeToValue(merged, type);
+        } catch (JacksonException ex) {
+            throw new BusinessException("Valor inválido no merge patch: " + ex.getOriginalMessage());
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(result);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return result;
+    }
+
+    private static boolean hasComponent(Class<?> type, String name) {
+        for (RecordComponent component : type.getRecordComponents()) {
+            if (component.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,168 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PrivateJwk;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keystore local de chaves assimétricas (ES256/EdDSA) persistido como um JWK Set em arquivo.
+ *
+ * <p>O primeiro par com chave privada do arquivo assina novos tokens; todas as chaves públicas
+ * são aceitas na verificação. Um arquivo contendo apenas chaves públicas (obtidas do endpoint
+ * JWKS) transforma o nó em verificador, sem capacidade de emitir tokens.
+ *
+ * <p>Todas as chaves precisam corresponder a {@code app.jwt.algorithm} (EC P-256 para ES256, OKP
+ * Ed25519/Ed448 para EdDSA); um arquivo com outro tipo de chave impede a inicialização em vez de
+ * falhar depois, na primeira emissão ou verificação.
+ */
+@Slf4j
+@Service
+public class JwtKeyStore {
+
+    private static final Set<String> EDDSA_CURVES = Set.of("Ed25519", "Ed448");
+
+    @Value("${app.jwt.keystore.path:./keys/jwt-keys.json}")
+    private String keystorePath;
+
+    @Value("${app.jwt.keystore.generate-if-missing:true}")
+    private boolean generateIfMissing;
+
+    /**
+     * Carrega as chaves do arquivo, gerando um novo par para o algoritmo informado se necessário.
+     */
+    public AsymmetricKeys load(SignatureAlgorithm algorithm) {
+        Path path = Path.of(keystorePath);
+
+        if (!Files.exists(path)) {
+            if (!generateIfMissing) {
+                throw new IllegalStateException("Keystore JWT não encontrado: " + path.toAbsolutePath());
+            }
+            generate(path, algorithm);
+        }
+
+        try {
+            String json = Files.readString(path, StandardCharsets.UTF_8);
+            return parse(Jwks.setParser().build().parse(json), algorithm);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível ler o keystore JWT: " + path, ex);
+        }
+    }
+
+    private AsymmetricKeys parse(JwkSet jwkSet, SignatureAlgorithm algorithm) {
+        String activeKeyId = null;
+        PrivateKey signingKey = null;
+        Map<String, PublicKey> verificationKeys = new LinkedHashMap<>();
+        List<PublicJwk<?>> publicJwks = new ArrayList<>();
+
+        for (Jwk<?> jwk : jwkSet.getKeys()) {
+            PublicJwk<?> publicJwk;
+            if (jwk instanceof PrivateJwk<?, ?, ?> privateJwk) {
+                publicJwk = privateJwk.toPublicJwk();
+                if (signingKey == null) {
+                    signingKey = privateJwk.toKey();
+                    activeKeyId = jwk.getId();
+                }
+            } else if (jwk instanceof PublicJwk<?> candidate) {
+                publicJwk = candidate;
+            } else {
+                // Chaves simétricas nunca são aceitas no keystore assimétrico
+                continue;
+            }
+            validate(jwk, algorithm);
+            verificationKeys.put(jwk.getId(), publicJwk.toKey());
+            publicJwks.add(publicJwk);
+        }
+
+        if (verificationKeys.isEmpty()) {
+            throw new IllegalStateException("Keystore JWT não possui chaves públicas");
+        }
+        if (signingKey == null) {
+            log.info("Keystore JWT sem chave privada: este nó apenas verifica tokens");
+        }
+
+        return new AsymmetricKeys(activeKeyId, signingKey, Map.copyOf(verificationKeys), List.copyOf(publicJwks));
+    }
+
+    /**
+     * Confere se a chave (kty, crv e alg, quando presente) pode ser usada com o algoritmo configurado.
+     */
+    private static void validate(Jwk<?> jwk, SignatureAlgorithm algorithm) {
+        String keyType = jwk.getType();
+        Object curve = jwk.get("crv");
+        boolean compatible = switch (algorithm.getId()) {
+            case "ES256" -> "EC".equals(keyType) && "P-256".equals(curve);
+            case "EdDSA" -> "OKP".equals(keyType) && EDDSA_CURVES.contains(String.valueOf(curve));
+            default -> false;
+        };
+        if (!compatible || (jwk.getAlgorithm() != null && !jwk.getAlgorithm().equals(algorithm.getId()))) {
+            throw new IllegalStateException("Chave " + jwk.getId() + " do keystore JWT (" + keyType + " " + curve
+                    + ") não é compatível com app.jwt.algorithm=" + algorithm.getId());
+        }
+    }
+
+    private void generate(Path path, SignatureAlgorithm algorithm) {
+        KeyPair keyPair = algorithm.keyPair().build();
+        PrivateJwk<?, ?, ?> jwk = Jwks.builder()
+                .keyPair(keyPair)
+                .algorithm(algorithm.getId())
+                .idFromThumbprint()
+                .build();
+
+        String json = "{\"keys\":[" + Jwks.UNSAFE_JSON(jwk) + "]}";
+
+        try {
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            Files.writeString(path, json, StandardCharsets.UTF_8);
+            if (path.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível gravar o keystore JWT: " + path, ex);
+        }
+
+        log.info("Novo par de chaves {} gerado em {} (kid {})", algorithm.getId(), path.toAbsolutePath(), jwk.getId());
+    }
+
+    /**
+     * Chaves carregadas do keystore.
+     *
+     * @param activeKeyId      kid da chave de assinatura, nulo em nós apenas verificadores
+     * @param signingKey       Chave privada de assinatura, nula em nós apenas verificadores
+     * @param verificationKeys Chaves públicas indexadas por kid
+     * @param publicJwks       Chaves públicas publicadas no endpoint JWKS
+     */
+    public record AsymmetricKeys(
+            String activeKeyId,
+            PrivateKey signingKey,
+            Map<String, PublicKey> verificationKeys,
+            List<PublicJwk<?>> publicJwks
+    ) {
+
+        public boolean canSign() {
+            return signingKey != null;
+        }
+    }
+}
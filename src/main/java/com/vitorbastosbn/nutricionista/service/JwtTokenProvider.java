@@ -1,26 +1,58 @@
 package com.vitorbastosbn.nutricionista.service;
 
+import com.vitorbastosbn.nutricionista.entity.User;
 import com.vitorbastosbn.nutricionista.exception.BusinessException;
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.Jwks;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
+@RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    private final JwtKeyStore jwtKeyStore;
+
+    /**
+     * Algoritmo de assinatura: HS256 (segredo compartilhado), ES256 ou EdDSA (par de chaves).
+     */
+    @Value("${app.jwt.algorithm:HS256}")
+    private String algorithm;
+
     @Value("${app.jwt.secret:my-super-secret-key-that-is-at-least-32-characters-long-for-hs256}")
     private String jwtSecret;
 
+    /**
+     * Identificador (kid) da chave usada para assinar novos tokens.
+     */
+    @Value("${app.jwt.key-id:default}")
+    private String activeKeyId;
+
+    /**
+     * Chaves antigas aceitas apenas para verificação durante a rotação, no formato kid:segredo.
+     */
+    @Value("${app.jwt.previous-keys:}")
+    private String[] previousKeys;
+
     @Value("${app.jwt.expiration:3600}")
     private long jwtExpiration;
 
@@ -28,9 +60,114 @@ public class JwtTokenProvider {
     @Value("${app.jwt.refresh-expiration:604800}")
     private long refreshTokenExpiration;
 
+    /**
+     * Quando habilitado, o filtro de autenticação confia nas claims do access token
+     * (sub, uid e roles) e não consulta o banco a cada requisição.
+     */
+    @Getter
+    @Value("${app.jwt.claims-trusted:false}")
+    private boolean claimsTrusted;
+
+    private Key signingKey;
+    private Map<String, Key> verificationKeys;
+    private List<PublicJwk<?>> publicJwks = List.of();
+    private JwtParser jwtParser;
+
+    /**
+     * Deriva as chaves e monta o parser uma única vez. O JwtParser é imutável e
+     * thread-safe; o JwtBuilder não é, por isso apenas a chave é reaproveitada na emissão.
+     */
+    @PostConstruct
+    void init() {
+        if ("HS256".equalsIgnoreCase(algorithm)) {
+            initHmacKeys();
+        } else {
+            initAsymmetricKeys(resolveSignatureAlgorithm());
+        }
+
+        jwtParser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        // Tokens emitidos antes da rotação não possuem kid
+                        String keyId = header.getKeyId();
+                        if (keyId == null && signingKey != null) {
+                            return signingKey;
+                        }
+                        Key key = keyId != null ? verificationKeys.get(keyId) : null;
+                        if (key == null) {
+                            throw new UnsupportedJwtException("Chave de assinatura desconhecida: " + keyId);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    private void initHmacKeys() {
+        signingKey = hmacKey(jwtSecret);
+
+        Map<String, Key> keys = new HashMap<>();
+        keys.put(activeKeyId, signingKey);
+        for (String entry : previousKeys) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("Chave JWT anterior deve estar no formato kid:segredo");
+            }
+            keys.putIfAbsent(entry.substring(0, separator).trim(), hmacKey(entry.substring(separator + 1)));
+        }
+        verificationKeys = Map.copyOf(keys);
+    }
+
+    private void initAsymmetricKeys(SignatureAlgorithm signatureAlgorithm) {
+        JwtKeyStore.AsymmetricKeys keys = jwtKeyStore.load(signatureAlgorithm);
+        activeKeyId = keys.activeKeyId();
+        signingKey = keys.signingKey();
+        verificationKeys = Map.copyOf(keys.verificationKeys());
+        publicJwks = keys.publicJwks();
+    }
+
+    private SignatureAlgorithm resolveSignatureAlgorithm() {
+        if ("ES256".equalsIgnoreCase(algorithm)) {
+            return Jwts.SIG.ES256;
+        }
+        if ("EdDSA".equalsIgnoreCase(algorithm)) {
+            return Jwts.SIG.EdDSA;
+        }
+        throw new IllegalStateException("Algoritmo JWT não suportado: " + algorithm);
+    }
+
+    /**
+     * Retorna o JWK Set público (RFC 7517) com as chaves de verificação. Em modo HS256 o
+     * conjunto é vazio, pois segredos compartilhados nunca são publicados.
+     */
+    public String getPublicJwkSetJson() {
+        StringBuilder json = new StringBuilder("{\"keys\":[");
+        for (int i = 0; i < publicJwks.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(Jwks.json(publicJwks.get(i)));
+        }
+        return json.append("]}").toString();
+    }
+
+    private static SecretKey hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
     public String generateAccessToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("sub", userDetails.getUsername());
+        claims.put("type", VerifiedToken.ACCESS_TYPE);
+        if (userDetails instanceof User user && user.getId() != null) {
+            claims.put("uid", user.getId().toString());
+        } else if (userDetails instanceof UserDetailsSnapshot snapshot) {
+            claims.put("uid", snapshot.id().toString());
+        }
         claims.put("roles", userDetails.getAuthorities()
                 .stream()
                 .map(GrantedAuthority::getAuthority).toList());
@@ -38,43 +175,39 @@ public class JwtTokenProvider {
         return buildToken(claims, userDetails.getUsername(), jwtExpiration);
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
+    /**
+     * Gera um refresh token vinculado à família de rotação informada.
+     */
+    public String generateRefreshToken(UserDetails userDetails, UUID familyId) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("type", "refresh");
+        claims.put("type", VerifiedToken.REFRESH_TYPE);
+        claims.put("fid", familyId.toString());
 
         return buildToken(claims, userDetails.getUsername(), refreshTokenExpiration);
     }
 
     private String buildToken(Map<String, Object> claims, String subject, long expirationTime) {
+        if (signingKey == null) {
+            throw new IllegalStateException("Este nó está configurado apenas para verificar tokens");
+        }
+
         Instant now = Instant.now();
         Instant expiryDate = now.plusSeconds(expirationTime);
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
         return Jwts.builder()
+                .header().keyId(activeKeyId).and()
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiryDate))
                 .claims(claims)
-                .signWith(key)
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public <T> T extractClaim(String token, java.util.function.Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
     private Claims extractAllClaims(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
+            return jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (SecurityException | MalformedJwtException ex) {
@@ -88,25 +221,44 @@ public class JwtTokenProvider {
         }
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-        } catch (Exception ex) {
-            return false;
+    /**
+     * Verifica assinatura e expiração do token uma única vez e devolve suas claims
+     * já tipadas. Lança {@link BusinessException} se o token for inválido.
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        String uid = claims.get("uid", String.class);
+        String fid = claims.get("fid", String.class);
+
+        List<String> roles = new ArrayList<>();
+        List<?> roleNames = claims.get("roles", List.class);
+        if (roleNames != null) {
+            for (Object roleName : roleNames) {
+                roles.add(String.valueOf(roleName));
+            }
         }
+
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                uid != null ? UUID.fromString(uid) : null,
+                roles,
+                claims.getExpiration().toInstant(),
+                claims.get("type", String.class),
+                fid != null ? UUID.fromString(fid) : null
+        );
     }
 
-    private boolean isTokenExpired(String token) {
-        try {
-            return extractExpiration(token).before(new Date());
-        } catch (ExpiredJwtException ex) {
-            return true;
+    /**
+     * Reconstrói o principal a partir de um access token já verificado, sem acessar o banco.
+     * Refresh tokens são rejeitados, pois não carregam as roles do usuário.
+     */
+    public UserPrincipal toPrincipal(VerifiedToken token) {
+        if (!token.isAccessToken()) {
+            throw new BusinessException("Token não suportado");
         }
-    }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return UserPrincipal.from(token);
     }
 
     public long getAccessTokenExpiration() {
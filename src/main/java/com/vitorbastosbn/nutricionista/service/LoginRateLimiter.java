@@ -0,0 +1,291 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limitador de tentativas de login em memória, baseado em token bucket por email e por IP.
+ *
+ * <p>Cada tentativa consome um token dos dois buckets antes de qualquer consulta ao banco ou
+ * verificação de senha. Quando um bucket esvazia, a chave fica bloqueada com backoff exponencial.
+ * As chaves são distribuídas em faixas (striping), cada uma com seu lock e um mapa em ordem de
+ * acesso limitado a uma fração de {@code max-keys}.
+ *
+ * <p>Saem do mapa preferencialmente buckets cheios e não bloqueados, que equivalem a uma chave nunca
+ * vista. Com a faixa cheia, uma chave nova examina as entradas menos usadas e, se nenhuma estiver
+ * recomposta, remove a menos usada mesmo em uso: recusar a chave nova bloquearia logins legítimos
+ * sempre que a faixa enchesse. O contador {@code evictedInUse} indica quando {@code max-keys} está baixo.
+ */
+@Slf4j
+@Service
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 64;
+    // Entradas menos usadas examinadas ao procurar espaço para uma chave nova
+    private static final int EVICTION_CANDIDATES = 8;
+
+    private final boolean enabled;
+    private final Limit emailLimit;
+    private final Limit ipLimit;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+    private final int maxKeys;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictedInUse = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LoginRateLimiter(
+            @Value("${app.security.login-limiter.enabled:true}") boolean enabled,
+            @Value("${app.security.login-limiter.email-capacity:5}") int emailCapacity,
+            @Value("${app.security.login-limiter.email-refill-per-minute:5}") double emailRefillPerMinute,
+            @Value("${app.security.login-limiter.ip-capacity:20}") int ipCapacity,
+            @Value("${app.security.login-limiter.ip-refill-per-minute:20}") double ipRefillPerMinute,
+            @Value("${app.security.login-limiter.base-backoff-seconds:1}") long baseBackoffSeconds,
+            @Value("${app.security.login-limiter.max-backoff-seconds:900}") long maxBackoffSeconds,
+            @Value("${app.security.login-limiter.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.emailLimit = new Limit(emailCapacity, emailRefillPerMinute / TimeUnit.MINUTES.toNanos(1));
+        this.ipLimit = new Limit(ipCapacity, ipRefillPerMinute / TimeUnit.MINUTES.toNanos(1));
+        this.baseBackoffNanos = TimeUnit.SECONDS.toNanos(baseBackoffSeconds);
+        this.maxBackoffNanos = TimeUnit.SECONDS.toNanos(maxBackoffSeconds);
+        this.maxKeys = maxKeys;
+        int stripeCapacity = Math.max(1, (maxKeys + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    /**
+     * Registra uma tentativa de login, lançando {@link TooManyRequestsException} se o email
+     * ou o IP excederam o limite.
+     */
+    public void acquire(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long waitNanos = tryConsume("ip:" + clientIp, ipLimit, now);
+        if (waitNanos == 0) {
+            waitNanos = tryConsume("email:" + normalize(email), emailLimit, now);
+        }
+
+        if (waitNanos > 0) {
+            rejected.increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos));
+            log.warn("Tentativa de login bloqueada para email {} a partir do IP {} (retry em {}s)", email, clientIp, retryAfter);
+            throw new TooManyRequestsException("Muitas tentativas de login. Tente novamente mais tarde.", retryAfter);
+        }
+        allowed.increment();
+    }
+
+    /**
+     * Libera o bucket do email após um login bem-sucedido.
+     */
+    public void onSuccess(String email) {
+        if (!enabled) {
+            return;
+        }
+
+        String key = "email:" + normalize(email);
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            stripe.buckets.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Remove periodicamente os buckets que já se recompuseram, uma faixa por vez.
+     */
+    @Scheduled(fixedDelayString = "${app.security.login-limiter.sweep-interval-ms:60000}")
+    public void evictRefilled() {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                Iterator<Bucket> iterator = stripe.buckets.values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().isRefilled(now)) {
+                        iterator.remove();
+                        evictions.increment();
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    public LoginLimiterStats stats() {
+        long trackedKeys = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                trackedKeys += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return new LoginLimiterStats(
+                allowed.sum(), rejected.sum(), evictedInUse.sum(), evictions.sum(), trackedKeys, maxKeys);
+    }
+
+    /**
+     * Consome um token do bucket da chave. Retorna 0 se permitido, ou o tempo de espera em nanos.
+     */
+    private long tryConsume(String key, Limit limit, long now) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= stripe.capacity) {
+                    evictOne(stripe, now);
+                }
+                bucket = new Bucket(limit, now);
+                stripe.buckets.put(key, bucket);
+            }
+
+            if (bucket.blockedUntil - now > 0) {
+                return bucket.blockedUntil - now;
+            }
+
+            bucket.refill(now);
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+
+            // Bucket vazio: bloqueia a chave com backoff exponencial
+            bucket.violations = Math.min(bucket.violations + 1, 20);
+            long backoff = Math.min(baseBackoffNanos << (bucket.violations - 1), maxBackoffNanos);
+            if (backoff <= 0) {
+                backoff = maxBackoffNanos;
+            }
+            bucket.blockedUntil = now + backoff;
+            return backoff;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a primeira entrada já recomposta entre as menos usadas da faixa ou, se não houver,
+     * a menos usada. Chamado com o lock da faixa.
+     */
+    private void evictOne(Stripe stripe, long now) {
+        Iterator<Bucket> iterator = stripe.buckets.values().iterator();
+        for (int examined = 0; examined < EVICTION_CANDIDATES && iterator.hasNext(); examined++) {
+            if (iterator.next().isRefilled(now)) {
+                iterator.remove();
+                evictions.increment();
+                return;
+            }
+        }
+
+        iterator = stripe.buckets.values().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictedInUse.increment();
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % STRIPES];
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Estatísticas do limitador de login.
+     *
+     * @param allowed         Tentativas permitidas
+     * @param rejected        Tentativas bloqueadas
+     * @param evictedInUse    Buckets ainda em uso removidos para abrir espaço a uma chave nova
+     * @param evictions       Buckets recompostos removidos
+     * @param trackedKeys     Chaves rastreadas no momento
+     * @param maxKeys         Limite de chaves rastreadas
+     */
+    public record LoginLimiterStats(
+            long allowed,
+            long rejected,
+            long evictedInUse,
+            long evictions,
+            long trackedKeys,
+            long maxKeys
+    ) {
+    }
+
+    private record Limit(int capacity, double refillPerNano) {
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        // Ordem de acesso: as primeiras entradas são as menos usadas
+        private final Map<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    private static final class Bucket {
+
+        private final Limit limit;
+        private double tokens;
+        private long lastRefill;
+        private long blockedUntil;
+        private int violations;
+
+        private Bucket(Limit limit, long now) {
+            this.limit = limit;
+            this.tokens = limit.capacity();
+            this.lastRefill = now;
+            this.blockedUntil = now;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(limit.capacity(), tokens + (now - lastRefill) * limit.refillPerNano());
+            lastRefill = now;
+            if (tokens >= limit.capacity()) {
+                violations = 0;
+            }
+        }
+
+        /**
+         * Verdadeiro se o bucket está desbloqueado e cheio, ou seja, igual ao de uma chave nova.
+         */
+        private boolean isRefilled(long now) {
+            return blockedUntil - now <= 0
+                    && tokens + (now - lastRefill) * limit.refillPerNano() >= limit.capacity();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.domain.dto.request.CountMode;
+import com.vitorbastosbn.nutricionista.domain.dto.response.CountedPage;
+import com.vitorbastosbn.nutricionista.domain.dto.response.CountedPage.TotalAccuracy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaSubQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Executa listagens paginadas escolhendo como o total é obtido ({@link CountMode}).
+ *
+ * <p>No modo estimado, listagens sem filtro usam {@code pg_class.reltuples}, mantido pelo
+ * autovacuum/ANALYZE, e listagens filtradas contam no máximo {@code app.listing.estimated-count-cap}
+ * linhas. Em ambos os casos o custo não cresce com o tamanho da tabela. A página informa em
+ * {@link CountedPage#getTotalAccuracy()} se o total é exato, estimado ou apenas um mínimo.
+ *
+ * <p>{@link #findIds} faz o mesmo selecionando apenas os ids (entidades com id UUID), para listagens que
+ * projetam as linhas da página em uma segunda consulta sem hidratar entidades.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PageQueryExecutor {
+
+    private final EntityManager entityManager;
+
+    @Value("${app.listing.estimated-count-cap:10000}")
+    private int estimatedCountCap;
+
+    /**
+     * Retorna um {@link CountedPage} nos modos exato e estimado, ou um {@code Slice} sem total no modo {@code none}.
+     *
+     * @param filtered indica se {@code spec} restringe as linhas (define a estratégia de estimativa)
+     */
+    public <T> Slice<T> find(JpaSpecificationExecutor<T> repository, Class<T> domainType,
+                             Specification<T> spec, boolean filtered, Pageable pageable, CountMode mode) {
+        return switch (mode) {
+            case EXACT -> {
+                Page<T> page = repository.findAll(spec, pageable);
+                yield new CountedPage<>(page.getContent(), pageable, page.getTotalElements(), TotalAccuracy.EXACT);
+            }
+            case NONE -> repository.findBy(spec, query -> query.slice(pageable));
+            case ESTIMATED -> {
+                Slice<T> slice = repository.findBy(spec, query -> query.slice(pageable));
+                Total total = filtered ? cappedCount(domainType, spec) : plannerEstimate(domainType, repository, spec);
+                yield new CountedPage<>(slice.getContent(), pageable, total.value(), total.accuracy());
+            }
+        };
+    }
+
+    /**
+     * Como {@link #find}, mas a consulta da página seleciona só o id, sem carregar entidades gerenciadas.
+     */
+    public <T> Slice<UUID> findIds(JpaSpecificationExecutor<T> repository, Class<T> domainType,
+                                   Specification<T> spec, boolean filtered, Pageable pageable, CountMode mode) {
+        int size = pageable.getPageSize();
+        return switch (mode) {
+            case EXACT -> {
+                List<UUID> ids = findIds(domainType, spec, pageable.getSort(), pageable.getOffset(), size);
+                // Como no findAll do Spring Data: sem count quando a página já revela o total
+                Page<UUID> page = PageableExecutionUtils.getPage(ids, pageable, () -> repository.count(spec));
+                yield new CountedPage<>(page.getContent(), pageable, page.getTotalElements(), TotalAccuracy.EXACT);
+            }
+            case NONE -> {
+                List<UUID> ids = findIds(domainType, spec, pageable.getSort(), pageable.getOffset(), size + 1);
+                boolean hasNext = ids.size() > size;
+                yield new SliceImpl<>(hasNext ? ids.subList(0, size) : ids, pageable, hasNext);
+            }
+            case ESTIMATED -> {
+                List<UUID> ids = findIds(domainType, spec, pageable.getSort(), pageable.getOffset(), size);
+                Total total = filtered ? cappedCount(domainType, spec) : plannerEstimate(domainType, repository, spec);
+                yield new CountedPage<>(ids, pageable, total.value(), total.accuracy());
+            }
+        };
+    }
+
+    /**
+     * Ids dos primeiros {@code limit} itens de {@code spec} na ordem {@code sort}. Ordenações aplicadas pela
+     * própria specification (ex.: relevância) valem quando {@code sort} não é informado.
+     */
+    public <T> List<UUID> findIds(Class<T> domainType, Specification<T> spec, Sort sort, int limit) {
+        return findIds(domainType, spec, sort, 0, limit);
+    }
+
+    private <T> List<UUID> findIds(Class<T> domainType, Specification<T> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = criteriaBuilder.createQuery(UUID.class);
+        Root<T> root = query.from(domainType);
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+        query.select(root.<UUID>get("id"));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private <T> Total plannerEstimate(Class<T> domainType, JpaSpecificationExecutor<T> repository, Specification<T> spec) {
+        String table = domainType.getAnnotation(Table.class).name();
+        // Sempre uma linha: -1 se a tabela não existe ou nunca foi analisada (reltuples = -1)
+        long estimate = ((Number) entityManager
+                .createNativeQuery("select coalesce((select reltuples::bigint from pg_class where oid = to_regclass(:table)), -1)")
+                .setParameter("table", table)
+                .getSingleResult())
+                .longValue();
+
+        if (estimate >= 0) {
+            return new Total(estimate, TotalAccuracy.ESTIMATED);
+        }
+        log.debug("Sem estatísticas do planner para {}, usando contagem exata", table);
+        return new Total(repository.count(spec), TotalAccuracy.EXACT);
+    }
+
+    /**
+     * Conta no banco, sem trazer linhas: {@code select count(*) from (select id ... limit :cap)}.
+     * Se a contagem chega ao limite, o total é apenas um mínimo.
+     */
+    private <T> Total cappedCount(Class<T> domainType, Specification<T> spec) {
+        HibernateCriteriaBuilder criteriaBuilder = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        JpaCriteriaQuery<Long> countQuery = criteriaBuilder.createQuery(Long.class);
+        JpaSubQuery<Object> matching = countQuery.subquery(Object.class);
+        Root<T> root = matching.from(domainType);
+
+        // A specification recebe a consulta de contagem (resultado Long), como em repository.count
+        Predicate predicate = spec.toPredicate(root, countQuery, criteriaBuilder);
+        if (predicate != null) {
+            matching.where(predicate);
+        }
+        Path<Object> id = root.get("id");
+        id.alias("id");
+        matching.select(id).fetch(estimatedCountCap);
+
+        countQuery.from(matching);
+        countQuery.select(criteriaBuilder.count());
+        // Ordenações aplicadas pela specification (ex.: relevância) não importam para a contagem
+        countQuery.orderBy(List.of());
+
+        long count = entityManager.createQuery(countQuery).getSingleResult();
+        return new Total(count, count >= estimatedCountCap ? TotalAccuracy.AT_LEAST : TotalAccuracy.EXACT);
+    }
+
+    private record Total(long value, TotalAccuracy accuracy) {
+    }
+}
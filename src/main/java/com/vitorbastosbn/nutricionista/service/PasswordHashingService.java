@@ -0,0 +1,152 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa o hash e a verificação de senhas em um pool dedicado e limitado, para que
+ * uma onda de logins não consuma todas as threads de CPU usadas pelas demais requisições.
+ * A fila é curta: com ela cheia, a tarefa é recusada na hora ({@link RejectedExecutionException},
+ * respondida com 503) em vez de deixar threads do servlet esperando atrás de centenas de hashes.
+ *
+ * <p>O {@link PasswordEncoder} injetado é o {@code DelegatingPasswordEncoder} configurado em
+ * {@code SecurityConfig}, portanto os hashes carregam o prefixo do algoritmo ({@code {bcrypt}},
+ * {@code {argon2}}) e {@link #needsRehash(String)} detecta parâmetros desatualizados.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final String dummyHash;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            @Value("${app.security.password.hashing-threads:4}") int threads,
+            @Value("${app.security.password.queue-capacity:16}") int queueCapacity,
+            @Value("${app.security.password.timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public String encode(String rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Gera os hashes de várias senhas em paralelo no pool de hashing, na ordem recebida.
+     * Mantém no máximo uma tarefa pendente por thread além das em execução, para que uma importação
+     * em massa não ocupe a fila reservada aos logins.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        int maxInFlight = executor.getMaximumPoolSize() * 2;
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+
+        try {
+            for (String rawPassword : rawPasswords) {
+                if (futures.size() - hashes.size() >= maxInFlight) {
+                    hashes.add(await(futures.get(hashes.size())));
+                }
+                futures.add(submit(() -> passwordEncoder.encode(rawPassword)));
+            }
+            while (hashes.size() < futures.size()) {
+                hashes.add(await(futures.get(hashes.size())));
+            }
+        } catch (RuntimeException ex) {
+            futures.forEach(future -> future.cancel(true));
+            throw ex;
+        }
+        return hashes;
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Executa uma verificação contra um hash descartável, com o mesmo custo de um login real.
+     * Usado quando o email não existe, para que o tempo de resposta não revele contas cadastradas.
+     */
+    public void matchesDummy(String rawPassword) {
+        matches(rawPassword, dummyHash);
+    }
+
+    /**
+     * Indica se o hash foi gerado com um algoritmo ou parâmetros diferentes dos atuais.
+     * Operação barata, executada na própria thread da requisição.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Callable<T> task) {
+        return await(submit(task));
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            log.warn("Fila de hashing de senhas cheia ({} tarefas pendentes)", executor.getQueue().size());
+            throw ex;
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hashing de senha interrompido", ex);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw new RejectedExecutionException("Tempo esgotado aguardando o hashing de senha", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Falha no hashing de senha", ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
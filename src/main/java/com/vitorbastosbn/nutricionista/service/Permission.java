@@ -0,0 +1,26 @@
+package com.vitorbastosbn.nutricionista.service;
+
+/**
+ * Catálogo de permissões verificadas nas expressões {@code can('...')} de {@code @PreAuthorize}.
+ *
+ * <p>A posição de cada constante é o seu ID denso no bitset de {@link UserPrincipal}; a concessão
+ * de permissões às roles fica em {@link PermissionCatalog}.
+ */
+public enum Permission {
+
+    USER_READ,
+    USER_WRITE,
+    USER_DELETE,
+    USER_IMPORT,
+    USER_EXPORT,
+    ROLE_ASSIGN,
+    ROLE_MANAGE,
+    METRICS_READ;
+
+    /**
+     * ID denso da permissão: índice do bit no bitset.
+     */
+    public int id() {
+        return ordinal();
+    }
+}
@@ -0,0 +1,154 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hierarquia de roles e permissões concedidas a cada role, compiladas uma única vez em bitsets.
+ *
+ * <p>Cada role conhecida vira um {@code long[]} com as suas permissões e as de todas as roles que
+ * ela alcança na hierarquia. O bitset de um usuário é o OR dos bitsets das suas roles, calculado ao
+ * montar o {@link UserPrincipal}; a verificação de uma permissão é então um acesso a array e um AND,
+ * sem percorrer as authorities nem comparar strings. Roles sem entrada aqui não concedem permissões.
+ *
+ * <p>Os usuários repetem poucos conjuntos de roles, então o resultado de cada conjunto ({@link Grants})
+ * é guardado e reaproveitado: o principal montado a cada requisição a partir das claims do token não
+ * recalcula o bitset nem as authorities.
+ */
+public final class PermissionCatalog {
+
+    /**
+     * Hierarquia no formato do {@link RoleHierarchyImpl}: a role à esquerda herda tudo da role à direita.
+     */
+    public static final String HIERARCHY = """
+            ROLE_ADMIN > ROLE_NUTRITIONIST
+            ROLE_ADMIN > ROLE_RECEPTIONIST
+            ROLE_NUTRITIONIST > ROLE_USER
+            ROLE_RECEPTIONIST > ROLE_USER
+            """;
+
+    private static final Map<String, Set<Permission>> GRANTS = Map.of(
+            "ROLE_USER", EnumSet.noneOf(Permission.class),
+            "ROLE_RECEPTIONIST", EnumSet.of(Permission.USER_READ, Permission.USER_WRITE, Permission.USER_IMPORT),
+            "ROLE_NUTRITIONIST", EnumSet.of(Permission.USER_READ, Permission.USER_EXPORT),
+            "ROLE_ADMIN", EnumSet.of(Permission.USER_DELETE, Permission.ROLE_ASSIGN, Permission.ROLE_MANAGE,
+                    Permission.METRICS_READ)
+    );
+
+    private static final int WORDS = (Permission.values().length + 63) >>> 6;
+    private static final long[] NONE = new long[WORDS];
+
+    // Roles vêm do banco e do token: o limite evita crescer sem controle com combinações inesperadas
+    private static final int MAX_CACHED_ROLE_SETS = 1024;
+
+    private static final RoleHierarchy ROLE_HIERARCHY = RoleHierarchyImpl.fromHierarchy(HIERARCHY);
+    private static final Map<String, long[]> ROLE_PERMISSIONS = compile();
+    private static final Map<List<String>, Grants> GRANTS_BY_ROLES = new ConcurrentHashMap<>();
+
+    private PermissionCatalog() {
+    }
+
+    public static RoleHierarchy roleHierarchy() {
+        return ROLE_HIERARCHY;
+    }
+
+    /**
+     * Authorities e permissões concedidas, diretamente ou pela hierarquia, ao conjunto de roles.
+     */
+    public static Grants grantsOf(Collection<String> roleNames) {
+        List<String> key = List.copyOf(roleNames);
+        Grants cached = GRANTS_BY_ROLES.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Grants grants = new Grants(key, permissionsOf(key));
+        if (GRANTS_BY_ROLES.size() < MAX_CACHED_ROLE_SETS) {
+            GRANTS_BY_ROLES.putIfAbsent(key, grants);
+        }
+        return grants;
+    }
+
+    private static long[] permissionsOf(Collection<String> roleNames) {
+        long[] permissions = new long[WORDS];
+        for (String roleName : roleNames) {
+            long[] granted = ROLE_PERMISSIONS.getOrDefault(roleName, NONE);
+            for (int i = 0; i < WORDS; i++) {
+                permissions[i] |= granted[i];
+            }
+        }
+        return permissions;
+    }
+
+    private static Map<String, long[]> compile() {
+        Map<String, long[]> compiled = new HashMap<>();
+        for (String roleName : GRANTS.keySet()) {
+            long[] permissions = new long[WORDS];
+            List<GrantedAuthority> role = List.of(new SimpleGrantedAuthority(roleName));
+            for (GrantedAuthority reachable : ROLE_HIERARCHY.getReachableGrantedAuthorities(role)) {
+                for (Permission permission : GRANTS.getOrDefault(reachable.getAuthority(), Set.of())) {
+                    permissions[permission.id() >>> 6] |= 1L << permission.id();
+                }
+            }
+            compiled.put(roleName, permissions);
+        }
+        return Map.copyOf(compiled);
+    }
+
+    /**
+     * Resultado imutável de um conjunto de roles: as authorities no formato do {@code Authentication}
+     * e o bitset das permissões.
+     */
+    public static final class Grants implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> roleNames;
+        private final List<GrantedAuthority> authorities;
+        private final long[] permissions;
+
+        private Grants(List<String> roleNames, long[] permissions) {
+            this.roleNames = roleNames;
+            this.authorities = roleNames.stream()
+                    .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                    .toList();
+            this.permissions = permissions;
+        }
+
+        public List<GrantedAuthority> authorities() {
+            return authorities;
+        }
+
+        public boolean contains(Permission permission) {
+            int id = permission.id();
+            return (permissions[id >>> 6] & (1L << id)) != 0;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Grants that && roleNames.equals(that.roleNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return roleNames.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return roleNames.toString();
+        }
+    }
+}
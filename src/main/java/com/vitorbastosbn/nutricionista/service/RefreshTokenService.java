@@ -1,38 +1,148 @@
 package com.vitorbastosbn.nutricionista.service;
 
+import com.vitorbastosbn.nutricionista.entity.RefreshTokenFamily;
+import com.vitorbastosbn.nutricionista.entity.User;
 import com.vitorbastosbn.nutricionista.exception.BusinessException;
+import com.vitorbastosbn.nutricionista.repository.RefreshTokenFamilyRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Armazena os refresh tokens no servidor, agrupados em famílias de rotação.
+ *
+ * <p>Cada login abre uma família que guarda apenas o hash do token vigente. A renovação é uma
+ * leitura pelo índice único do hash seguida de um update condicional; um token já substituído
+ * que volte a ser apresentado indica vazamento e revoga a família inteira.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenService {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
 
     /**
-     * Valida o refresh token JWT e retorna os detalhes do usuário
+     * Abre uma nova família para o usuário e emite o primeiro refresh token dela.
      */
-    public UserDetails validateRefreshToken(String token) {
-        try {
-            // Extrai o username do refresh token
-            String username = jwtTokenProvider.extractUsername(token);
+    @Transactional
+    public String issue(User user) {
+        UUID familyId = UUID.randomUUID();
+        String refreshToken = jwtTokenProvider.generateRefreshToken(user, familyId);
+        Instant now = Instant.now();
+
+        RefreshTokenFamily family = RefreshTokenFamily.builder()
+                .id(familyId)
+                .user(user)
+                .tokenHash(hash(refreshToken))
+                .revoked(false)
+                .createdAt(now)
+                .expiresAt(now.plusSeconds(jwtTokenProvider.getRefreshTokenExpiration()))
+                .build();
+        refreshTokenFamilyRepository.save(family);
+
+        return refreshToken;
+    }
 
-            // Carrega os detalhes do usuário
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+    /**
+     * Substitui o refresh token informado por um novo da mesma família.
+     * A revogação por reuso precisa persistir mesmo com a exceção lançada ao chamador.
+     */
+    @Transactional(noRollbackFor = BusinessException.class)
+    public RotatedToken rotate(String token) {
+        VerifiedToken verifiedToken = verifyRefreshToken(token);
+        UUID familyId = verifiedToken.familyId();
+        String currentHash = hash(token);
+
+        RefreshTokenFamily family = refreshTokenFamilyRepository.findByTokenHash(currentHash).orElse(null);
 
-            // Valida se o token é válido para este usuário
-            if (!jwtTokenProvider.validateToken(token, userDetails)) {
-                throw new BusinessException("Refresh token inválido ou expirado");
+        if (family != null && !family.isRevoked() && family.getId().equals(familyId)) {
+            String newToken = jwtTokenProvider.generateRefreshToken(family.getUser(), familyId);
+            Instant now = Instant.now();
+            Instant expiresAt = now.plusSeconds(jwtTokenProvider.getRefreshTokenExpiration());
+
+            int updated = refreshTokenFamilyRepository.rotate(familyId, currentHash, hash(newToken), now, expiresAt);
+            if (updated == 1) {
+                return new RotatedToken(family.getUser(), newToken);
             }
+        }
+
+        // Token válido porém não vigente: já foi renovado, a família foi revogada ou a renovação concorreu
+        int revoked = refreshTokenFamilyRepository.revoke(familyId);
+        if (revoked > 0) {
+            log.warn("Reuso de refresh token detectado para usuário {}. Família {} revogada",
+                    verifiedToken.subject(), familyId);
+        }
+        throw new BusinessException("Refresh token inválido ou já utilizado");
+    }
+
+    /**
+     * Revoga a família do refresh token informado (logout).
+     */
+    @Transactional
+    public void revoke(String token) {
+        VerifiedToken verifiedToken = verifyRefreshToken(token);
+        refreshTokenFamilyRepository.revoke(verifiedToken.familyId());
+        log.info("Refresh tokens revogados para usuário: {}", verifiedToken.subject());
+    }
+
+    /**
+     * Revoga todas as sessões ativas do usuário.
+     */
+    @Transactional
+    public void revokeAll(UUID userId) {
+        refreshTokenFamilyRepository.revokeAllByUserId(userId);
+    }
+
+    /**
+     * Remove periodicamente as famílias expiradas, mantendo a tabela enxuta.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = refreshTokenFamilyRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("{} famílias de refresh token expiradas removidas", deleted);
+        }
+    }
 
-            return userDetails;
+    private VerifiedToken verifyRefreshToken(String token) {
+        VerifiedToken verifiedToken;
+        try {
+            // Verifica assinatura e expiração uma única vez
+            verifiedToken = jwtTokenProvider.verify(token);
         } catch (Exception ex) {
             throw new BusinessException("Refresh token inválido: " + ex.getMessage());
         }
+
+        if (!verifiedToken.isRefreshToken() || verifiedToken.familyId() == null) {
+            throw new BusinessException("Token informado não é um refresh token");
+        }
+        return verifiedToken;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 não disponível", ex);
+        }
     }
-}
 
+    /**
+     * Resultado de uma renovação: o usuário dono da família e o novo refresh token.
+     */
+    public record RotatedToken(User user, String refreshToken) {
+    }
+}
@@ -0,0 +1,194 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.domain.dto.request.BulkRoleAssignmentRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.response.BulkRoleAssignmentResponse;
+import com.vitorbastosbn.nutricionista.entity.Role;
+import com.vitorbastosbn.nutricionista.exception.BusinessException;
+import com.vitorbastosbn.nutricionista.exception.ResourceNotFoundException;
+import com.vitorbastosbn.nutricionista.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Atribuição e revogação de roles para muitos usuários em uma requisição.
+ *
+ * <p>As roles são resolvidas com uma consulta {@code IN} e cada lote de {@code app.roles.bulk-batch-size}
+ * usuários vira no máximo três comandos em {@code user_roles}: um {@code INSERT ... ON CONFLICT DO NOTHING}
+ * que só cria os vínculos que faltam, um {@code DELETE} que só remove os existentes e preserva a última
+ * role de cada usuário, e a contagem dos usuários preservados. Os usuários não são carregados como entidades.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoleAssignmentService {
+
+    private static final String ASSIGN = """
+            with inserted as (
+                insert into user_roles (user_id, role_id)
+                select u.id, r.id
+                from users u
+                cross join unnest(?) as r(id)
+                where u.id = any(?)
+                on conflict do nothing
+                returning user_id
+            )
+            select u.email
+            from inserted i
+            join users u on u.id = i.user_id
+            """;
+    private static final String REVOKE = """
+            with deleted as (
+                delete from user_roles ur
+                where ur.user_id = any(?)
+                  and ur.role_id = any(?)
+                  and exists (
+                      select 1 from user_roles other
+                      where other.user_id = ur.user_id and other.role_id <> all(?)
+                  )
+                returning ur.user_id
+            )
+            select u.email
+            from deleted d
+            join users u on u.id = d.user_id
+            """;
+    private static final String COUNT_KEPT = """
+            select count(distinct user_id)
+            from user_roles
+            where user_id = any(?) and role_id = any(?)
+            """;
+
+    private final RoleRepository roleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityCacheService entityCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.roles.bulk-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.roles.bulk-max-users:50000}")
+    private int maxUsers;
+
+    @Value("${app.roles.bulk-invalidate-all-threshold:500}")
+    private int invalidateAllThreshold;
+
+    /**
+     * Aplica atribuições e depois revogações, em uma transação. Revogar uma role que também está sendo
+     * atribuída não é permitido.
+     */
+    @Transactional
+    public BulkRoleAssignmentResponse apply(BulkRoleAssignmentRequest request) {
+        long start = System.nanoTime();
+        Set<UUID> assign = request.assign() != null ? request.assign() : Set.of();
+        Set<UUID> revoke = request.revoke() != null ? request.revoke() : Set.of();
+        validate(request.userIds(), assign, revoke);
+        List<Role> assignedRoles = findRoles(assign, revoke);
+
+        UUID[] assignIds = assign.toArray(UUID[]::new);
+        UUID[] revokeIds = revoke.toArray(UUID[]::new);
+        long assigned = 0;
+        long revoked = 0;
+        long keptLastRole = 0;
+        Set<String> affectedEmails = new HashSet<>();
+
+        List<UUID> userIds = new ArrayList<>(request.userIds());
+        for (int from = 0; from < userIds.size(); from += batchSize) {
+            UUID[] batch = userIds.subList(from, Math.min(from + batchSize, userIds.size())).toArray(UUID[]::new);
+
+            if (assignIds.length > 0) {
+                List<String> emails = jdbcTemplate.query(ASSIGN,
+                        statement -> bind(statement, assignIds, batch),
+                        (resultSet, rowNum) -> resultSet.getString(1));
+                assigned += emails.size();
+                affectedEmails.addAll(emails);
+            }
+            if (revokeIds.length > 0) {
+                List<String> emails = jdbcTemplate.query(REVOKE,
+                        statement -> bind(statement, batch, revokeIds, revokeIds),
+                        (resultSet, rowNum) -> resultSet.getString(1));
+                revoked += emails.size();
+                affectedEmails.addAll(emails);
+
+                Long kept = jdbcTemplate.query(COUNT_KEPT,
+                        statement -> bind(statement, batch, revokeIds),
+                        resultSet -> resultSet.next() ? resultSet.getLong(1) : 0L);
+                keptLastRole += kept != null ? kept : 0L;
+            }
+        }
+
+        if (!affectedEmails.isEmpty()) {
+            // user_roles foi alterada por SQL: as coleções User.roles em cache e os UserDetails ficam desatualizados
+            entityCacheService.evictRoleAssignmentsAfterCommit();
+            // Acima do limite, uma invalidação completa evita gravar uma alteração por usuário para os outros nós
+            if (affectedEmails.size() > invalidateAllThreshold) {
+                eventPublisher.publishEvent(UserDetailsChangedEvent.all());
+            } else {
+                affectedEmails.forEach(email -> eventPublisher.publishEvent(new UserDetailsChangedEvent(email)));
+            }
+        }
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Roles em massa: {} usuários, atribuídas [{}], revogadas {}: {} vínculos criados, {} removidos em {} ms",
+                userIds.size(), assignedRoles.stream().map(Role::getName).collect(Collectors.joining(", ")),
+                revoke.size(), assigned, revoked, durationMs);
+
+        return BulkRoleAssignmentResponse.builder()
+                .requestedUsers(userIds.size())
+                .assigned(assigned)
+                .revoked(revoked)
+                .affectedUsers(affectedEmails.size())
+                .keptLastRole(keptLastRole)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    private void validate(Set<UUID> userIds, Set<UUID> assign, Set<UUID> revoke) {
+        if (assign.isEmpty() && revoke.isEmpty()) {
+            throw new BusinessException("Informe ao menos uma role para atribuir ou revogar");
+        }
+        if (userIds.size() > maxUsers) {
+            throw new BusinessException("No máximo " + maxUsers + " usuários por requisição");
+        }
+        if (assign.stream().anyMatch(revoke::contains)) {
+            throw new BusinessException("A mesma role não pode ser atribuída e revogada na mesma requisição");
+        }
+    }
+
+    /**
+     * Resolve todas as roles informadas com uma consulta e devolve as que serão atribuídas.
+     */
+    private List<Role> findRoles(Set<UUID> assign, Set<UUID> revoke) {
+        Set<UUID> requested = new HashSet<>(assign);
+        requested.addAll(revoke);
+        List<Role> roles = roleRepository.findAllById(requested);
+        if (roles.size() != requested.size()) {
+            Set<UUID> found = roles.stream().map(Role::getId).collect(Collectors.toSet());
+            String missing = requested.stream()
+                    .filter(id -> !found.contains(id))
+                    .map(UUID::toString)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            throw new ResourceNotFoundException("Role não encontrada com ID: " + missing);
+        }
+        return roles.stream().filter(role -> assign.contains(role.getId())).toList();
+    }
+
+    private static void bind(PreparedStatement statement, UUID[]... arrays) throws SQLException {
+        for (int i = 0; i < arrays.length; i++) {
+            statement.setArray(i + 1, statement.getConnection().createArrayOf("uuid", arrays[i]));
+        }
+    }
+}
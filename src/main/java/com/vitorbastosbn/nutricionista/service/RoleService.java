@@ -1,21 +1,28 @@
 package com.vitorbastosbn.nutricionista.service;
 
+import com.vitorbastosbn.nutricionista.domain.dto.request.CountMode;
 import com.vitorbastosbn.nutricionista.domain.dto.request.RoleRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.response.CursorPageResponse;
 import com.vitorbastosbn.nutricionista.entity.Role;
 import com.vitorbastosbn.nutricionista.exception.BusinessException;
 import com.vitorbastosbn.nutricionista.exception.ResourceNotFoundException;
 import com.vitorbastosbn.nutricionista.mapper.RoleMapper;
 import com.vitorbastosbn.nutricionista.repository.RoleRepository;
+import com.vitorbastosbn.nutricionista.repository.specification.KeysetCursor;
 import com.vitorbastosbn.nutricionista.repository.specification.RoleSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Slf4j
 @Service
@@ -23,8 +30,17 @@ import java.util.UUID;
 @Transactional
 public class RoleService {
 
+    // Propriedades aceitas na paginação por cursor (colunas não nulas) e como extrair a chave do último item
+    private static final Map<String, Function<Role, String>> CURSOR_KEYS = Map.of(
+            "id", role -> null,
+            "name", Role::getName
+    );
+
     private final RoleRepository roleRepository;
     private final RoleMapper roleMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PageQueryExecutor pageQueryExecutor;
+    private final EntityCacheService entityCacheService;
 
     public RoleRequest create(RoleRequest roleDTO) {
         validateUniqueName(roleDTO.getName(), null);
@@ -35,7 +51,50 @@ public class RoleService {
     }
 
     @Transactional(readOnly = true)
-    public Page<RoleRequest> findAll(String name, String description, String search, Pageable pageable) {
+    public Slice<RoleRequest> findAll(String name, String description, String search, Pageable pageable, CountMode countMode) {
+        boolean filtered = hasText(name) || hasText(description) || hasText(search);
+        return pageQueryExecutor.find(roleRepository, Role.class, buildSpecification(name, description, search),
+                        filtered, pageable, countMode)
+                .map(roleMapper::toRoleRequest);
+    }
+
+    /**
+     * Lista roles por keyset: sem OFFSET e sem COUNT, com custo constante em qualquer profundidade.
+     * Sem {@code cursor} começa do início com a ordenação {@code sort}; com ele continua de onde parou.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<RoleRequest> findAllByCursor(
+            String name, String description, String search, String cursor, int requestedSize, String sort) {
+        int size = KeysetCursor.pageSize(requestedSize);
+        KeysetCursor position = cursor != null && !cursor.isBlank()
+                ? KeysetCursor.decode(cursor, CURSOR_KEYS.keySet())
+                : KeysetCursor.start(sort, CURSOR_KEYS.keySet());
+
+        Specification<Role> spec = buildSpecification(name, description, search).and(position.toSpecification());
+        List<Role> roles = roleRepository.findBy(spec, query -> query.sortBy(position.toSort()).limit(size + 1).all());
+
+        boolean hasNext = roles.size() > size;
+        List<Role> content = hasNext ? roles.subList(0, size) : roles;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Role last = content.get(content.size() - 1);
+            nextCursor = position.after(CURSOR_KEYS.get(position.property()).apply(last), last.getId()).encode();
+        }
+
+        return CursorPageResponse.<RoleRequest>builder()
+                .content(content.stream().map(roleMapper::toRoleRequest).toList())
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private Specification<Role> buildSpecification(String name, String description, String search) {
         Specification<Role> spec = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
 
         if (search != null && !search.isBlank()) {
@@ -49,8 +108,7 @@ public class RoleService {
             }
         }
 
-        return roleRepository.findAll(spec, pageable)
-                .map(roleMapper::toRoleRequest);
+        return spec;
     }
 
     @Transactional(readOnly = true)
@@ -64,8 +122,13 @@ public class RoleService {
         if (roleDTO.getName() != null && !roleDTO.getName().equalsIgnoreCase(role.getName())) {
             validateUniqueName(roleDTO.getName(), id);
         }
+        String previousName = role.getName();
         roleMapper.updateRoleFromRequest(roleDTO, role);
         Role updated = roleRepository.save(role);
+        if (!previousName.equals(updated.getName())) {
+            // Nome da role é a authority em cache de todos os usuários que a possuem
+            eventPublisher.publishEvent(UserDetailsChangedEvent.all());
+        }
         log.info("Role atualizada: {}", updated.getName());
         return roleMapper.toRoleRequest(updated);
     }
@@ -73,6 +136,9 @@ public class RoleService {
     public void delete(UUID id) {
         Role role = findRole(id);
         roleRepository.delete(role);
+        // A role sai das coleções User.roles em cache, que o lado inverso da associação não atualiza
+        entityCacheService.evictRoleAssignmentsAfterCommit();
+        eventPublisher.publishEvent(UserDetailsChangedEvent.all());
         log.info("Role deletada: {}", role.getName());
     }
 
@@ -0,0 +1,299 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.entity.RevokedToken;
+import com.vitorbastosbn.nutricionista.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lista de access tokens revogados antes da expiração (logout, desligamento forçado).
+ *
+ * <p>Os {@code jti} revogados ficam em memória em um filtro de Bloom, consultado primeiro, e em
+ * um conjunto exato que confirma os positivos. No caminho comum (token não revogado) a consulta
+ * é O(1), sem acesso ao banco e sem alocação. A tabela {@code revoked_tokens} é a fonte da verdade:
+ * cada nó importa periodicamente as revogações novas, de modo que todos convergem.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final boolean enabled;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final long syncOverlapSeconds;
+
+    // jti -> expiração do token em epoch millis
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    private volatile BloomFilter filter;
+    // Entradas inseridas no filtro atual, incluindo as que já expiraram e saíram do conjunto exato
+    private int filterEntries;
+    private volatile Instant watermark = Instant.EPOCH;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder filterPositives = new LongAdder();
+    private final LongAdder revokedHits = new LongAdder();
+    private final LongAdder syncs = new LongAdder();
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${app.jwt.revocation.enabled:true}") boolean enabled,
+            @Value("${app.jwt.revocation.expected-entries:100000}") int expectedEntries,
+            @Value("${app.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.jwt.revocation.sync-overlap-seconds:30}") long syncOverlapSeconds) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.enabled = enabled;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlapSeconds = syncOverlapSeconds;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * Indica se o token com o {@code jti} informado foi revogado.
+     */
+    public boolean isRevoked(String tokenId) {
+        if (!enabled || tokenId == null) {
+            return false;
+        }
+
+        checks.increment();
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+
+        filterPositives.increment();
+        if (revokedTokens.containsKey(tokenId)) {
+            revokedHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Revoga o access token até sua expiração, registrando-o no banco para os demais nós.
+     * A memória só é atualizada após o commit, para não rejeitar um token cuja revogação sofreu rollback.
+     */
+    @Transactional
+    public void revoke(VerifiedToken token) {
+        if (!enabled || token.tokenId() == null || token.isExpired()
+                || revokedTokens.containsKey(token.tokenId())) {
+            return;
+        }
+
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenId(token.tokenId())
+                .revokedAt(Instant.now())
+                .expiresAt(token.expiration())
+                .build());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(token.tokenId(), token.expiration());
+            }
+        });
+        log.info("Access token revogado para usuário: {}", token.subject());
+    }
+
+    /**
+     * Importa as revogações registradas desde a última sincronização e descarta as expiradas.
+     * A janela de sobreposição tolera diferenças de relógio entre os nós; reimportar é idempotente.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        Instant since = watermark.minusSeconds(syncOverlapSeconds);
+        List<RevokedToken> revoked = revokedTokenRepository
+                .findByRevokedAtAfterAndExpiresAtAfterOrderByRevokedAtAsc(since, now);
+
+        Instant latest = watermark;
+        for (RevokedToken revokedToken : revoked) {
+            add(revokedToken.getTokenId(), revokedToken.getExpiresAt());
+            if (revokedToken.getRevokedAt().isAfter(latest)) {
+                latest = revokedToken.getRevokedAt();
+            }
+        }
+        watermark = latest;
+
+        purgeExpired(now.toEpochMilli());
+        syncs.increment();
+    }
+
+    /**
+     * Remove do banco as revogações de tokens que já expiraram.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("{} revogações de access token expiradas removidas", deleted);
+        }
+    }
+
+    public RevocationStats stats() {
+        return new RevocationStats(
+                revokedTokens.size(),
+                filter.capacity(),
+                checks.sum(),
+                filterPositives.sum(),
+                revokedHits.sum(),
+                syncs.sum(),
+                watermark
+        );
+    }
+
+    private void add(String tokenId, Instant expiresAt) {
+        synchronized (writeLock) {
+            if (revokedTokens.put(tokenId, expiresAt.toEpochMilli()) != null) {
+                return;
+            }
+            if (++filterEntries > filter.capacity()) {
+                // Filtro saturado: reconstrói só com as entradas vigentes, com folga para manter a taxa de falsos positivos
+                rebuild(Math.max(expectedEntries, revokedTokens.size() * 2));
+            } else {
+                filter.put(tokenId);
+            }
+        }
+    }
+
+    /**
+     * Descarta os tokens expirados do conjunto exato. O filtro de Bloom não suporta remoção, mas
+     * entradas expiradas nele só geram falsos positivos, que o conjunto exato descarta; por isso ele
+     * só é reconstruído quando as entradas expiradas passam da metade da capacidade.
+     */
+    private void purgeExpired(long nowMillis) {
+        synchronized (writeLock) {
+            Iterator<Map.Entry<String, Long>> iterator = revokedTokens.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().getValue() <= nowMillis) {
+                    iterator.remove();
+                }
+            }
+            if (filterEntries - revokedTokens.size() > filter.capacity() / 2) {
+                rebuild(Math.max(expectedEntries, revokedTokens.size() * 2));
+            }
+        }
+    }
+
+    private void rebuild(int capacity) {
+        BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+        for (String tokenId : revokedTokens.keySet()) {
+            rebuilt.put(tokenId);
+        }
+        filter = rebuilt;
+        filterEntries = revokedTokens.size();
+    }
+
+    /**
+     * Estatísticas da lista de revogação.
+     *
+     * @param trackedTokens   Tokens revogados ainda não expirados em memória
+     * @param filterCapacity  Capacidade atual do filtro de Bloom
+     * @param checks          Consultas realizadas
+     * @param filterPositives Consultas que passaram pelo filtro e foram ao conjunto exato
+     * @param revokedHits     Consultas que encontraram um token revogado
+     * @param syncs           Sincronizações concluídas com o banco
+     * @param lastRevokedAt   Instante da revogação mais recente importada
+     */
+    public record RevocationStats(
+            long trackedTokens,
+            long filterCapacity,
+            long checks,
+            long filterPositives,
+            long revokedHits,
+            long syncs,
+            Instant lastRevokedAt
+    ) {
+    }
+
+    /**
+     * Filtro de Bloom com hashing duplo calculado direto sobre os caracteres da string,
+     * sem alocar arrays intermediários.
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final int capacity;
+
+        private BloomFilter(int capacity, double falsePositiveRate) {
+            this.capacity = Math.max(1, capacity);
+            long optimalBits = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.max(1, (optimalBits + 63) / 64);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.capacity * Math.log(2)));
+        }
+
+        private int capacity() {
+            return capacity;
+        }
+
+        private void put(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        private boolean mightContain(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a de 64 bits sobre os caracteres
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash ^ value.length());
+        }
+
+        // Finalizador do MurmurHash3 para espalhar os bits
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9f53e63b9d7L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.vitorbastosbn.nutricionista.service;
+
+/**
+ * Publicado quando dados usados na autenticação (email, senha, roles) mudam ou o usuário é removido.
+ *
+ * @param email Email afetado, ou {@code null} quando a alteração atinge todos os usuários (ex.: role renomeada)
+ */
+public record UserDetailsChangedEvent(String email) {
+
+    public static UserDetailsChangedEvent all() {
+        return new UserDetailsChangedEvent(null);
+    }
+}
@@ -0,0 +1,45 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.entity.User;
+import org.jspecify.annotations.NonNull;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cópia imutável e desacoplada da sessão JPA dos dados de autenticação de um usuário.
+ * Pode ser mantida em cache e compartilhada entre threads sem risco de lazy loading.
+ *
+ * @param principal Principal já pronto para o {@code SecurityContext}
+ * @param password  Hash da senha
+ */
+public record UserDetailsSnapshot(
+        UserPrincipal principal,
+        String password
+) implements UserDetails {
+
+    public static UserDetailsSnapshot from(User user) {
+        return new UserDetailsSnapshot(UserPrincipal.from(user), user.getPassword());
+    }
+
+    public UUID id() {
+        return principal.id();
+    }
+
+    @Override
+    public @NonNull List<GrantedAuthority> getAuthorities() {
+        return principal.authorityList();
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public @NonNull String getUsername() {
+        return principal.email();
+    }
+}
@@ -0,0 +1,197 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.domain.dto.request.FileFormat;
+import com.vitorbastosbn.nutricionista.domain.dto.response.AddressResponse;
+import com.vitorbastosbn.nutricionista.domain.dto.response.ContactResponse;
+import com.vitorbastosbn.nutricionista.domain.dto.response.RoleResponse;
+import com.vitorbastosbn.nutricionista.domain.dto.response.UserResponse;
+import com.vitorbastosbn.nutricionista.entity.User;
+import com.vitorbastosbn.nutricionista.mapper.UserMapper;
+import com.vitorbastosbn.nutricionista.repository.specification.UserSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Exportação completa de usuários em NDJSON ou CSV, escrita direto na saída da resposta.
+ *
+ * <p>A consulta roda com cursor no servidor (resultado em modo forward-only com fetch size), então o
+ * banco entrega as linhas aos poucos em vez de materializar a base inteira. A cada bloco de
+ * {@code app.export.fetch-size} usuários as roles são carregadas em uma consulta, as respostas são
+ * escritas e o contexto de persistência é limpo: a memória usada não cresce com o número de usuários.
+ */
+@Slf4j
+@Service
+public class UserExportService {
+
+    private static final String CSV_HEADER = String.join(",",
+            "id", "fullName", "birthDate", "email",
+            "street", "number", "complement", "neighborhood", "city", "state", "zipCode", "country",
+            "emergencyContact", "emergencyPhone", "phoneNumber", "alternativePhone", "whatsapp", "roles");
+
+    private final EntityManager entityManager;
+    private final UserMapper userMapper;
+    private final ObjectWriter jsonWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public UserExportService(
+            EntityManager entityManager,
+            UserMapper userMapper,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.userMapper = userMapper;
+        this.jsonWriter = objectMapper.writerFor(UserResponse.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Escreve os usuários que atendem aos filtros em {@code output}, ordenados por id.
+     */
+    public void export(String fullName, String email, String search, FileFormat format, OutputStream output) {
+        long start = System.nanoTime();
+        OutputStream buffered = new BufferedOutputStream(output, 64 * 1024);
+
+        long exported = readOnlyTransaction.execute(status -> {
+            try (Stream<User> users = streamUsers(UserSpecification.filter(fullName, email, search))) {
+                if (format == FileFormat.CSV) {
+                    writeLine(buffered, CSV_HEADER);
+                }
+
+                long count = 0;
+                List<User> block = new ArrayList<>(fetchSize);
+                for (User user : (Iterable<User>) users::iterator) {
+                    block.add(user);
+                    if (block.size() == fetchSize) {
+                        count += writeBlock(block, format, buffered);
+                    }
+                }
+                count += writeBlock(block, format, buffered);
+                return count;
+            }
+        });
+
+        try {
+            buffered.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        log.info("Exportação de usuários em {} concluída: {} usuários em {} ms",
+                format.getExtension(), exported, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Usuários com endereço e contato (associações únicas, sem multiplicar linhas) em um cursor forward-only.
+     */
+    private Stream<User> streamUsers(Specification<User> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<User> query = criteriaBuilder.createQuery(User.class);
+        Root<User> root = query.from(User.class);
+        root.fetch("address", JoinType.LEFT);
+        root.fetch("contact", JoinType.LEFT);
+        query.select(root)
+                .where(spec.toPredicate(root, query, criteriaBuilder))
+                .orderBy(criteriaBuilder.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Carrega as roles do bloco em uma consulta, escreve as respostas e libera as entidades do contexto.
+     */
+    private int writeBlock(List<User> block, FileFormat format, OutputStream output) {
+        if (block.isEmpty()) {
+            return 0;
+        }
+        entityManager.createQuery("select distinct u from User u left join fetch u.roles where u in :users", User.class)
+                .setParameter("users", block)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+
+        try {
+            for (User user : block) {
+                UserResponse response = userMapper.toUserResponse(user);
+                if (format == FileFormat.CSV) {
+                    writeLine(output, toCsv(response));
+                } else {
+                    output.write(jsonWriter.writeValueAsBytes(response));
+                    output.write('\n');
+                }
+            }
+        } catch (IOException ex) {
+            // Cliente desconectou: interrompe a consulta em vez de continuar lendo o cursor
+            throw new UncheckedIOException(ex);
+        }
+
+        int written = block.size();
+        block.clear();
+        entityManager.clear();
+        return written;
+    }
+
+    private static String toCsv(UserResponse user) {
+        AddressResponse address = user.getAddress() != null ? user.getAddress() : new AddressResponse();
+        ContactResponse contact = user.getContact() != null ? user.getContact() : new ContactResponse();
+        String roles = user.getRoles() == null ? "" : user.getRoles().stream()
+                .map(RoleResponse::getName)
+                .sorted()
+                .collect(Collectors.joining("|"));
+
+        return Stream.of(
+                        user.getId(), user.getFullName(), user.getBirthDate(), user.getEmail(),
+                        address.getStreet(), address.getNumber(), address.getComplement(), address.getNeighborhood(),
+                        address.getCity(), address.getState(), address.getZipCode(), address.getCountry(),
+                        contact.getEmergencyContact(), contact.getEmergencyPhone(), contact.getPhoneNumber(),
+                        contact.getAlternativePhone(), user.getContact() != null ? contact.isWhatsapp() : null, roles)
+                .map(UserExportService::csvValue)
+                .collect(Collectors.joining(","));
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static void writeLine(OutputStream output, String line) {
+        try {
+            output.write(line.getBytes(StandardCharsets.UTF_8));
+            output.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
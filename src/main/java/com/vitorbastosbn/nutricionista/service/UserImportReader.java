@@ -0,0 +1,259 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.domain.dto.request.AddressRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.request.ContactRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.request.FileFormat;
+import com.vitorbastosbn.nutricionista.domain.dto.request.RegisterRequest;
+import com.vitorbastosbn.nutricionista.entity.enums.State;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lê um arquivo de importação de usuários registro a registro, sem carregá-lo inteiro em memória.
+ *
+ * <p>No CSV a primeira linha é o cabeçalho com os nomes dos campos de {@link RegisterRequest}, com
+ * endereço e contato achatados ({@code street}, {@code phoneNumber}, ...). O separador pode ser vírgula
+ * ou ponto e vírgula e valores entre aspas podem conter separadores e quebras de linha. No NDJSON
+ * cada linha é o mesmo JSON aceito em {@code /auth/register}.
+ */
+abstract class UserImportReader implements Closeable {
+
+    protected final BufferedReader reader;
+
+    private UserImportReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    static UserImportReader of(FileFormat format, InputStream input, ObjectMapper objectMapper) {
+        return switch (format) {
+            case CSV -> new CsvReader(input);
+            case NDJSON -> new NdjsonReader(input, objectMapper);
+        };
+    }
+
+    /**
+     * Próximo registro do arquivo, ou {@code null} ao final. Registros ilegíveis voltam com {@code error}.
+     */
+    abstract ImportRow next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Registro lido: a requisição montada ou o motivo pelo qual não pôde ser montada.
+     */
+    record ImportRow(long line, RegisterRequest request, String email, String error) {
+
+        static ImportRow parsed(long line, RegisterRequest request) {
+            return new ImportRow(line, request, request.email(), null);
+        }
+
+        static ImportRow failed(long line, String email, String error) {
+            return new ImportRow(line, null, email, error);
+        }
+    }
+
+    private static final class NdjsonReader extends UserImportReader {
+
+        private final ObjectMapper objectMapper;
+        private long line;
+
+        private NdjsonReader(InputStream input, ObjectMapper objectMapper) {
+            super(input);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        ImportRow next() throws IOException {
+            String json;
+            do {
+                json = reader.readLine();
+                line++;
+                if (json == null) {
+                    return null;
+                }
+            } while (json.isBlank());
+
+            try {
+                return ImportRow.parsed(line, objectMapper.readValue(json, RegisterRequest.class));
+            } catch (JacksonException ex) {
+                return ImportRow.failed(line, null, "JSON inválido: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class CsvReader extends UserImportReader {
+
+        private Map<String, Integer> header;
+        private char separator = ',';
+        private long line;
+
+        private CsvReader(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        ImportRow next() throws IOException {
+            if (header == null && !readHeader()) {
+                return null;
+            }
+
+            List<String> values;
+            long start;
+            do {
+                start = line + 1;
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank());
+
+            String email = value(values, "email");
+            try {
+                return ImportRow.parsed(start, toRequest(values));
+            } catch (DateTimeParseException ex) {
+                return ImportRow.failed(start, email, "birthDate: data inválida, use o formato AAAA-MM-DD");
+            } catch (IllegalArgumentException ex) {
+                return ImportRow.failed(start, email, "state: UF inválida");
+            }
+        }
+
+        private boolean readHeader() throws IOException {
+            String first = reader.readLine();
+            if (first == null) {
+                return false;
+            }
+            line++;
+            if (!first.isEmpty() && first.charAt(0) == '\uFEFF') {
+                first = first.substring(1);
+            }
+            if (first.indexOf(';') >= 0 && first.indexOf(',') < 0) {
+                separator = ';';
+            }
+
+            header = new HashMap<>();
+            String[] names = first.split(String.valueOf(separator), -1);
+            for (int i = 0; i < names.length; i++) {
+                header.put(names[i].trim().replace("\"", ""), i);
+            }
+            if (!header.containsKey("email") || !header.containsKey("password")) {
+                throw new IOException("Cabeçalho do CSV sem as colunas obrigatórias email e password");
+            }
+            return true;
+        }
+
+        /**
+         * Lê um registro completo, que pode ocupar várias linhas físicas quando há aspas.
+         */
+        private List<String> readRecord() throws IOException {
+            String physical = reader.readLine();
+            if (physical == null) {
+                return null;
+            }
+            line++;
+
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == physical.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // Quebra de linha dentro de um valor entre aspas
+                    physical = reader.readLine();
+                    if (physical == null) {
+                        break;
+                    }
+                    line++;
+                    current.append('\n');
+                    i = 0;
+                    continue;
+                }
+
+                char c = physical.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < physical.length() && physical.charAt(i) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == separator) {
+                    values.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            values.add(current.toString());
+            return values;
+        }
+
+        private RegisterRequest toRequest(List<String> values) {
+            String birthDate = value(values, "birthDate");
+            String state = value(values, "state");
+            String whatsapp = value(values, "whatsapp");
+
+            AddressRequest address = new AddressRequest(
+                    value(values, "street"),
+                    value(values, "number"),
+                    value(values, "complement"),
+                    value(values, "neighborhood"),
+                    value(values, "city"),
+                    state == null ? null : State.valueOf(state.toUpperCase(Locale.ROOT)),
+                    value(values, "zipCode"),
+                    value(values, "country"));
+
+            ContactRequest contact = new ContactRequest(
+                    value(values, "emergencyContact"),
+                    value(values, "emergencyPhone"),
+                    value(values, "phoneNumber"),
+                    value(values, "alternativePhone"),
+                    whatsapp == null ? null : parseBoolean(whatsapp));
+
+            return new RegisterRequest(
+                    value(values, "fullName"),
+                    birthDate == null ? null : LocalDate.parse(birthDate),
+                    value(values, "email"),
+                    value(values, "password"),
+                    address,
+                    contact);
+        }
+
+        private static boolean parseBoolean(String value) {
+            String normalized = value.toLowerCase(Locale.ROOT);
+            return normalized.equals("true") || normalized.equals("sim") || normalized.equals("s") || normalized.equals("1");
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = header.get(column);
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
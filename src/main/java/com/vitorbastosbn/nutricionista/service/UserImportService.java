@@ -0,0 +1,261 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.domain.dto.request.AddressRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.request.ContactRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.request.FileFormat;
+import com.vitorbastosbn.nutricionista.domain.dto.request.RegisterRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.response.ImportRowError;
+import com.vitorbastosbn.nutricionista.domain.dto.response.UserImportResponse;
+import com.vitorbastosbn.nutricionista.entity.Role;
+import com.vitorbastosbn.nutricionista.exception.BusinessException;
+import com.vitorbastosbn.nutricionista.repository.RoleRepository;
+import com.vitorbastosbn.nutricionista.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de usuários (cadastro de pacientes de uma nova clínica).
+ *
+ * <p>O arquivo é lido em streaming e processado em lotes de {@code app.import.batch-size} linhas.
+ * Para cada lote: validação com as regras de {@link RegisterRequest}, uma consulta de emails já
+ * cadastrados, hashing das senhas em paralelo no pool limitado de {@link PasswordHashingService} e
+ * inserção em {@code addresses}, {@code contacts}, {@code users} e {@code user_roles} com JDBC batch,
+ * em uma transação por lote. Um lote com falha não desfaz os anteriores.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_ADDRESS = """
+            insert into addresses (id, street, number, complement, neighborhood, city, state, zip_code, country)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_CONTACT = """
+            insert into contacts (id, emergency_contact, emergency_phone, phone_number, alternative_phone, whatsapp)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_USER = """
+            insert into users (id, full_name, birth_date, email, password, address_id, contact_id, version)
+            values (?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+    private static final String INSERT_USER_ROLE = "insert into user_roles (user_id, role_id) values (?, ?)";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Importa os usuários do arquivo, sem abrir uma transação longa: cada lote confirma a sua.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserImportResponse importUsers(InputStream input, FileFormat format) {
+        long start = System.nanoTime();
+        UUID roleId = roleRepository.findByName(DEFAULT_ROLE)
+                .map(Role::getId)
+                .orElseThrow(() -> new BusinessException("Role padrão '" + DEFAULT_ROLE + "' não encontrada"));
+
+        ImportReport report = new ImportReport();
+        Set<String> seenEmails = new HashSet<>();
+        List<UserImportReader.ImportRow> batch = new ArrayList<>(batchSize);
+
+        try (UserImportReader reader = UserImportReader.of(format, input, objectMapper)) {
+            UserImportReader.ImportRow row;
+            while ((row = reader.next()) != null) {
+                report.received++;
+                if (row.error() != null) {
+                    report.fail(row.line(), row.email(), row.error());
+                    continue;
+                }
+
+                String violations = validate(row.request());
+                if (violations != null) {
+                    report.fail(row.line(), row.email(), violations);
+                } else if (!seenEmails.add(row.email())) {
+                    report.fail(row.line(), row.email(), "Email repetido no arquivo");
+                } else {
+                    batch.add(row);
+                    if (batch.size() >= batchSize) {
+                        writeBatch(batch, roleId, report);
+                        batch.clear();
+                    }
+                }
+            }
+            writeBatch(batch, roleId, report);
+        } catch (IOException ex) {
+            throw new BusinessException("Falha ao ler o arquivo de importação: " + ex.getMessage());
+        }
+
+        long durationMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Importação de usuários concluída: {} lidos, {} importados, {} rejeitados em {} ms",
+                report.received, report.imported, report.failed, durationMs);
+
+        return UserImportResponse.builder()
+                .received(report.received)
+                .imported(report.imported)
+                .failed(report.failed)
+                .durationMs(durationMs)
+                .rowsPerSecond(report.received * 1000.0 / durationMs)
+                .errors(report.errors)
+                .errorsTruncated(report.failed > report.errors.size())
+                .build();
+    }
+
+    private String validate(RegisterRequest request) {
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void writeBatch(List<UserImportReader.ImportRow> batch, UUID roleId, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(
+                batch.stream().map(UserImportReader.ImportRow::email).toList()));
+        List<UserImportReader.ImportRow> rows = new ArrayList<>(batch.size());
+        for (UserImportReader.ImportRow row : batch) {
+            if (existing.contains(row.email())) {
+                report.fail(row.line(), row.email(), "Este email já está cadastrado no sistema");
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes;
+        try {
+            hashes = passwordHashingService.encodeAll(rows.stream().map(row -> row.request().password()).toList());
+        } catch (RejectedExecutionException ex) {
+            rows.forEach(row -> report.fail(row.line(), row.email(), "Hashing de senhas sobrecarregado, reenvie a linha"));
+            return;
+        }
+
+        List<NewUser> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            users.add(new NewUser(timeOrderedId(), timeOrderedId(), timeOrderedId(), rows.get(i).request(), hashes.get(i)));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                insert(users, roleId);
+                // Entregues ao índice de autocompletar após o commit do lote
+                users.forEach(user -> eventPublisher.publishEvent(
+                        new UserProfileChangedEvent(user.id(), user.request().fullName(), user.request().email())));
+            });
+            report.imported += users.size();
+        } catch (DataAccessException ex) {
+            // Tipicamente um email cadastrado em paralelo entre a checagem e o insert
+            log.warn("Falha ao gravar lote de {} usuários importados: {}", users.size(), ex.getMostSpecificCause().getMessage());
+            rows.forEach(row -> report.fail(row.line(), row.email(), "Falha ao gravar o lote: " + ex.getMostSpecificCause().getMessage()));
+        }
+    }
+
+    private void insert(List<NewUser> users, UUID roleId) {
+        jdbcTemplate.batchUpdate(INSERT_ADDRESS, users, users.size(), (statement, user) -> {
+            AddressRequest address = user.request().address();
+            statement.setObject(1, user.addressId());
+            statement.setString(2, address.street());
+            statement.setString(3, address.number());
+            statement.setString(4, address.complement());
+            statement.setString(5, address.neighborhood());
+            statement.setString(6, address.city());
+            statement.setString(7, address.state().name());
+            statement.setString(8, address.zipCode());
+            statement.setString(9, address.country());
+        });
+        jdbcTemplate.batchUpdate(INSERT_CONTACT, users, users.size(), (statement, user) -> {
+            ContactRequest contact = user.request().contact();
+            statement.setObject(1, user.contactId());
+            statement.setString(2, contact.emergencyContact());
+            statement.setString(3, contact.emergencyPhone());
+            statement.setString(4, contact.phoneNumber());
+            statement.setString(5, contact.alternativePhone());
+            statement.setBoolean(6, Boolean.TRUE.equals(contact.whatsapp()));
+        });
+        jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (statement, user) -> {
+            RegisterRequest request = user.request();
+            statement.setObject(1, user.id());
+            statement.setString(2, request.fullName());
+            statement.setObject(3, request.birthDate());
+            statement.setString(4, request.email());
+            statement.setString(5, user.passwordHash());
+            statement.setObject(6, user.addressId());
+            statement.setObject(7, user.contactId());
+        });
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, users, users.size(), (statement, user) -> {
+            statement.setObject(1, user.id());
+            statement.setObject(2, roleId);
+        });
+    }
+
+    /**
+     * UUID versão 7: os 48 bits mais altos são o instante em milissegundos, então ids gerados em sequência
+     * são crescentes e cada insert cai no fim do índice da chave primária, como em uma sequence.
+     */
+    private static UUID timeOrderedId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificant = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    private record NewUser(UUID id, UUID addressId, UUID contactId, RegisterRequest request, String passwordHash) {
+    }
+
+    private static final class ImportReport {
+
+        private long received;
+        private long imported;
+        private long failed;
+        private final List<ImportRowError> errors = new ArrayList<>();
+
+        private void fail(long line, String email, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(line, email, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.entity.Role;
+import com.vitorbastosbn.nutricionista.entity.User;
+import org.jspecify.annotations.NonNull;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal imutável guardado no {@code SecurityContext} de cada requisição autenticada.
+ * Substitui a entidade {@link User}, evitando manter uma entidade gerenciada com coleções
+ * lazy durante a requisição. Expõe {@code id} para expressões como {@code #userId == principal.id}.
+ *
+ * @param id     ID do usuário
+ * @param email  Email do usuário
+ * @param grants Authorities e bitset de permissões das roles, compartilhados por conjunto de roles
+ *               em {@link PermissionCatalog}
+ */
+public record UserPrincipal(
+        UUID id,
+        String email,
+        PermissionCatalog.Grants grants
+) implements AuthenticatedPrincipal, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 3L;
+
+    public UserPrincipal(UUID id, String email, Collection<String> roleNames) {
+        this(id, email, PermissionCatalog.grantsOf(roleNames));
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getRoles().stream().map(Role::getName).toList());
+    }
+
+    public static UserPrincipal from(VerifiedToken token) {
+        return new UserPrincipal(token.userId(), token.subject(), token.roles());
+    }
+
+    /**
+     * Verifica a permissão no bitset pré-calculado, sem percorrer as authorities.
+     */
+    public boolean hasPermission(Permission permission) {
+        return grants.contains(permission);
+    }
+
+    /**
+     * Lista imutável das authorities, no formato esperado pelo {@code Authentication}.
+     */
+    public List<GrantedAuthority> authorityList() {
+        return grants.authorities();
+    }
+
+    @Override
+    public @NonNull String getName() {
+        return email;
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "UserPrincipal[id=" + id + ", email=" + email + ", authorities=" + grants + "]";
+    }
+}
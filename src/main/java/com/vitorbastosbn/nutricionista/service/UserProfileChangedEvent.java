@@ -0,0 +1,27 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.entity.User;
+
+import java.util.UUID;
+
+/**
+ * Publicado quando nome ou email de um usuário mudam, ou quando ele é criado ou removido.
+ *
+ * @param id       ID do usuário
+ * @param fullName Nome completo atual, {@code null} se removido
+ * @param email    Email atual, {@code null} se removido
+ */
+public record UserProfileChangedEvent(UUID id, String fullName, String email) {
+
+    public static UserProfileChangedEvent saved(User user) {
+        return new UserProfileChangedEvent(user.getId(), user.getFullName(), user.getEmail());
+    }
+
+    public static UserProfileChangedEvent removed(UUID id) {
+        return new UserProfileChangedEvent(id, null, null);
+    }
+
+    public boolean isRemoved() {
+        return fullName == null && email == null;
+    }
+}
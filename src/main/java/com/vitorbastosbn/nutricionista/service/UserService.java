@@ -1,9 +1,12 @@
 package com.vitorbastosbn.nutricionista.service;
 
+import com.vitorbastosbn.nutricionista.domain.dto.request.CountMode;
 import com.vitorbastosbn.nutricionista.domain.dto.request.UpdateUserRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.request.UpdateUserAddressRequest;
 import com.vitorbastosbn.nutricionista.domain.dto.request.UpdateUserContactRequest;
+import com.vitorbastosbn.nutricionista.domain.dto.response.CursorPageResponse;
 import com.vitorbastosbn.nutricionista.domain.dto.response.UserResponse;
+import com.vitorbastosbn.nutricionista.domain.dto.response.UserSuggestionResponse;
 import com.vitorbastosbn.nutricionista.entity.User;
 import com.vitorbastosbn.nutricionista.entity.Address;
 import com.vitorbastosbn.nutricionista.entity.Contact;
@@ -12,21 +15,37 @@ import com.vitorbastosbn.nutricionista.exception.BusinessException;
 import com.vitorbastosbn.nutricionista.exception.ResourceNotFoundException;
 import com.vitorbastosbn.nutricionista.repository.UserRepository;
 import com.vitorbastosbn.nutricionista.repository.RoleRepository;
+import com.vitorbastosbn.nutricionista.repository.projection.UserRow;
+import com.vitorbastosbn.nutricionista.repository.specification.KeysetCursor;
 import com.vitorbastosbn.nutricionista.repository.specification.UserSpecification;
 import com.vitorbastosbn.nutricionista.mapper.UserMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.ObjectNode;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -34,43 +53,107 @@ import java.util.UUID;
 @Transactional
 public class UserService {
 
+    // Propriedades aceitas na paginação por cursor (colunas não nulas) e como extrair a chave do último item
+    private static final Map<String, Function<UserResponse, String>> CURSOR_KEYS = Map.of(
+            "id", user -> null,
+            "fullName", UserResponse::getFullName,
+            "email", UserResponse::getEmail
+    );
+
+    private static final int MAX_AUTOCOMPLETE_RESULTS = 50;
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserTypeaheadIndex userTypeaheadIndex;
+    private final PageQueryExecutor pageQueryExecutor;
+    private final JsonMergePatcher jsonMergePatcher;
+    private final EntityManager entityManager;
+    private final RefreshTokenService refreshTokenService;
 
     @Transactional(readOnly = true)
     public UserResponse getCurrentUser() {
-        User user = getCurrentAuthenticatedUser();
-        log.info("Obtendo dados do usuário atual: {}", user.getEmail());
-        return userMapper.toUserResponse(user);
+        String email = getAuthenticatedEmail();
+        log.info("Obtendo dados do usuário atual: {}", email);
+        return UserRow.toResponses(userRepository.findRowsByEmail(email)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário autenticado não encontrado"));
     }
 
     @Transactional(readOnly = true)
     public UserResponse getUserById(UUID userId) {
-        User user = findUserById(userId);
+        UserResponse user = readResponse(userId);
         log.info("Obtendo dados do usuário: {}", user.getEmail());
-        return userMapper.toUserResponse(user);
+        return user;
     }
 
     @Transactional(readOnly = true)
-    public Page<UserResponse> getAllUsers(String fullName, String email, String search, Pageable pageable) {
+    public Slice<UserResponse> getAllUsers(String fullName, String email, String search, Pageable pageable, CountMode countMode) {
         log.info("Listando usuários com paginação: página {}, tamanho {}", pageable.getPageNumber(), pageable.getPageSize());
 
-        Specification<User> spec = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
-
-        if (search != null && !search.isBlank()) {
-            spec = spec.and(UserSpecification.searchByFullNameOrEmail(search));
-        } else {
-            if (fullName != null && !fullName.isBlank()) {
-                spec = spec.and(UserSpecification.hasFullName(fullName));
-            }
-            if (email != null && !email.isBlank()) {
-                spec = spec.and(UserSpecification.hasEmail(email));
+        Specification<User> spec = UserSpecification.filter(fullName, email, search);
+        if (pageable.getSort().isUnsorted()) {
+            if (search != null && !search.isBlank()) {
+                // Busca sem ordenação explícita: resultados mais relevantes primeiro
+                spec = spec.and(UserSpecification.orderByRelevance(search));
+            } else {
+                pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
             }
         }
 
-        return userRepository.findAll(spec, pageable)
-                .map(userMapper::toUserResponse);
+        boolean filtered = hasText(fullName) || hasText(email) || hasText(search);
+        Slice<UUID> page = pageQueryExecutor.findIds(userRepository, User.class, spec, filtered, pageable, countMode);
+        Map<UUID, UserResponse> responses = readResponses(page.getContent());
+        return page.map(responses::get);
+    }
+
+    /**
+     * Lista usuários por keyset: sem OFFSET e sem COUNT, com custo constante em qualquer profundidade.
+     * Sem {@code cursor} começa do início com a ordenação {@code sort}; com ele continua de onde parou.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserResponse> getAllUsersByCursor(
+            String fullName, String email, String search, String cursor, int requestedSize, String sort) {
+        int size = KeysetCursor.pageSize(requestedSize);
+        KeysetCursor position = cursor != null && !cursor.isBlank()
+                ? KeysetCursor.decode(cursor, CURSOR_KEYS.keySet())
+                : KeysetCursor.start(sort, CURSOR_KEYS.keySet());
+        log.info("Listando usuários por cursor: ordenação {}, tamanho {}", position.property(), size);
+
+        Specification<User> spec = UserSpecification.filter(fullName, email, search).and(position.toSpecification());
+        List<UUID> ids = pageQueryExecutor.findIds(User.class, spec, position.toSort(), size + 1);
+
+        boolean hasNext = ids.size() > size;
+        List<UUID> pageIds = hasNext ? ids.subList(0, size) : ids;
+        Map<UUID, UserResponse> responses = readResponses(pageIds);
+        List<UserResponse> content = pageIds.stream().map(responses::get).toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            UserResponse last = content.get(content.size() - 1);
+            nextCursor = position.after(CURSOR_KEYS.get(position.property()).apply(last), last.getId()).encode();
+        }
+
+        return CursorPageResponse.<UserResponse>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * Sugestões para autocompletar a partir do índice em memória, sem consultar o banco
+     * (e sem abrir transação, que reservaria uma conexão).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<UserSuggestionResponse> autocomplete(String query, int limit) {
+        return userTypeaheadIndex.suggest(query, Math.min(limit, MAX_AUTOCOMPLETE_RESULTS));
     }
 
     public UserResponse updateCurrentUser(UpdateUserRequest request) {
@@ -90,13 +173,108 @@ public class UserService {
             throw new BusinessException("Este email já está cadastrado no sistema");
         }
 
+        String previousEmail = user.getEmail();
         userMapper.updateUserFromRequest(request, user);
 
         User updated = userRepository.save(user);
+        if (!previousEmail.equals(updated.getEmail())) {
+            eventPublisher.publishEvent(new UserDetailsChangedEvent(previousEmail));
+        }
+        eventPublisher.publishEvent(UserProfileChangedEvent.saved(updated));
         log.info("Usuário atualizado: {}", updated.getEmail());
         return userMapper.toUserResponse(updated);
     }
 
+    /**
+     * Atualização parcial (JSON Merge Patch) do usuário autenticado.
+     *
+     * @param expectedVersion versão informada no If-Match; nula para não conferir
+     */
+    public UserResponse patchCurrentUser(JsonNode patch, Long expectedVersion) {
+        User user = userRepository.findWithAddressAndContactByEmail(getAuthenticatedEmail())
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário autenticado não encontrado"));
+        return patchUserData(user, patch, expectedVersion);
+    }
+
+    public UserResponse patchUser(UUID userId, JsonNode patch, Long expectedVersion) {
+        User user = userRepository.findWithAddressAndContactById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + userId));
+        return patchUserData(user, patch, expectedVersion);
+    }
+
+    /**
+     * Aplica o patch sobre o estado atual e deixa o dirty checking decidir o que gravar: com
+     * {@code @DynamicUpdate}, cada tabela alterada recebe um único UPDATE só com as colunas modificadas,
+     * condicionado à versão lida. Alterações só em endereço ou contato também incrementam a versão do usuário,
+     * que representa o cadastro inteiro.
+     */
+    private UserResponse patchUserData(User user, JsonNode patch, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(User.class, user.getId());
+        }
+        if (patch == null || !patch.isObject()) {
+            throw new BusinessException("O merge patch deve ser um objeto JSON");
+        }
+
+        ObjectNode userPatch = ((ObjectNode) patch).deepCopy();
+        JsonNode addressPatch = userPatch.remove("address");
+        JsonNode contactPatch = userPatch.remove("contact");
+
+        UpdateUserRequest current = userMapper.toUpdateUserRequest(user);
+        UpdateUserRequest data = jsonMergePatcher.apply(current, userPatch, UpdateUserRequest.class);
+        String previousEmail = user.getEmail();
+        if (!previousEmail.equals(data.email()) && userRepository.existsByEmail(data.email())) {
+            log.warn("Tentativa de atualizar email para um já existente: {}", data.email());
+            throw new BusinessException("Este email já está cadastrado no sistema");
+        }
+        boolean userChanged = !data.equals(current);
+        userMapper.updateUserFromRequest(data, user);
+
+        boolean associationsChanged = false;
+        if (addressPatch != null) {
+            Address address = user.getAddress() != null ? user.getAddress() : new Address();
+            UpdateUserAddressRequest currentAddress = userMapper.toUpdateUserAddressRequest(address);
+            UpdateUserAddressRequest mergedAddress =
+                    jsonMergePatcher.apply(currentAddress, addressPatch, UpdateUserAddressRequest.class);
+            userMapper.updateAddressFromRequest(mergedAddress, address);
+            if (user.getAddress() == null) {
+                entityManager.persist(address);
+                user.setAddress(address);
+                userChanged = true;
+            } else {
+                associationsChanged = !mergedAddress.equals(currentAddress);
+            }
+        }
+        if (contactPatch != null) {
+            Contact contact = user.getContact() != null ? user.getContact() : new Contact();
+            UpdateUserContactRequest currentContact = userMapper.toUpdateUserContactRequest(contact);
+            UpdateUserContactRequest mergedContact =
+                    jsonMergePatcher.apply(currentContact, contactPatch, UpdateUserContactRequest.class);
+            userMapper.updateContactFromRequest(mergedContact, contact);
+            if (user.getContact() == null) {
+                entityManager.persist(contact);
+                user.setContact(contact);
+                userChanged = true;
+            } else {
+                associationsChanged |= !mergedContact.equals(currentContact);
+            }
+        }
+
+        if (associationsChanged && !userChanged) {
+            entityManager.lock(user, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        }
+        userRepository.flush();
+
+        if (!previousEmail.equals(user.getEmail())) {
+            eventPublisher.publishEvent(new UserDetailsChangedEvent(previousEmail));
+        }
+        if (userChanged) {
+            eventPublisher.publishEvent(UserProfileChangedEvent.saved(user));
+        }
+        log.info("Usuário {} atualizado parcialmente", user.getEmail());
+        return readResponse(user.getId());
+    }
+
     public UserResponse updateCurrentUserAddress(UpdateUserAddressRequest request) {
         User user = getCurrentAuthenticatedUser();
         return updateUserAddress(user, request);
@@ -158,6 +336,7 @@ public class UserService {
 
         user.getRoles().add(role);
         User updated = userRepository.save(user);
+        eventPublisher.publishEvent(new UserDetailsChangedEvent(updated.getEmail()));
         log.info("Role {} adicionada ao usuário {}", role.getName(), user.getEmail());
         return userMapper.toUserResponse(updated);
     }
@@ -179,6 +358,7 @@ public class UserService {
 
         user.getRoles().remove(role);
         User updated = userRepository.save(user);
+        eventPublisher.publishEvent(new UserDetailsChangedEvent(updated.getEmail()));
         log.info("Role {} removida do usuário {}", role.getName(), user.getEmail());
         return userMapper.toUserResponse(updated);
     }
@@ -191,13 +371,17 @@ public class UserService {
             throw new BusinessException("Um usuário deve ter pelo menos uma role");
         }
 
-        Set<Role> roles = new HashSet<>();
-        for (UUID roleId : roleIds) {
-            roles.add(findRoleById(roleId));
+        // Uma consulta IN para todas as roles
+        Set<Role> roles = new HashSet<>(roleRepository.findAllById(roleIds));
+        if (roles.size() != roleIds.size()) {
+            Set<UUID> found = roles.stream().map(Role::getId).collect(Collectors.toSet());
+            UUID missing = roleIds.stream().filter(roleId -> !found.contains(roleId)).findFirst().orElseThrow();
+            throw new ResourceNotFoundException("Role não encontrada com ID: " + missing);
         }
 
         user.setRoles(roles);
         User updated = userRepository.save(user);
+        eventPublisher.publishEvent(new UserDetailsChangedEvent(updated.getEmail()));
         log.info("Roles do usuário {} atualizadas", updated.getEmail());
         return userMapper.toUserResponse(updated);
     }
@@ -210,9 +394,43 @@ public class UserService {
     public void deleteUser(UUID userId) {
         User user = findUserById(userId);
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserDetailsChangedEvent(user.getEmail()));
+        eventPublisher.publishEvent(UserProfileChangedEvent.removed(user.getId()));
         log.info("Usuário {} deletado", user.getEmail());
     }
 
+    /**
+     * Encerra todas as sessões do usuário revogando seus refresh tokens. Na exclusão isso não é
+     * necessário: as famílias de refresh token são removidas em cascata junto com o usuário.
+     */
+    public void signOutUser(UUID userId) {
+        User user = findUserById(userId);
+        refreshTokenService.revokeAll(user.getId());
+        log.info("Sessões do usuário {} encerradas", user.getEmail());
+    }
+
+    private UserResponse readResponse(UUID userId) {
+        return UserRow.toResponses(userRepository.findRowsById(userId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + userId));
+    }
+
+    /**
+     * Monta as respostas dos usuários da página com uma consulta de projeção, sem hidratar usuário,
+     * endereço, contato e roles como entidades. Total por página: ids da página, count e esta consulta.
+     */
+    private Map<UUID, UserResponse> readResponses(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<UserRow> rows = userRepository.findRowsByIdIn(ids);
+        Map<UUID, UserResponse> responses = new HashMap<>();
+        for (UserResponse response : UserRow.toResponses(rows)) {
+            responses.put(response.getId(), response);
+        }
+        return responses;
+    }
+
     private User findUserById(UUID userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + userId));
@@ -224,16 +442,18 @@ public class UserService {
     }
 
     private User getCurrentAuthenticatedUser() {
+        String email = getAuthenticatedEmail();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário autenticado não encontrado"));
+    }
+
+    private String getAuthenticatedEmail() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new BusinessException("Usuário não autenticado");
         }
-
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário autenticado não encontrado"));
+        return authentication.getName();
     }
 
 }
-
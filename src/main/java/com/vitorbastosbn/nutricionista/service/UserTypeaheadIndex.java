@@ -0,0 +1,448 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.domain.dto.response.UserSuggestionResponse;
+import com.vitorbastosbn.nutricionista.repository.UserRepository;
+import com.vitorbastosbn.nutricionista.repository.specification.UserSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória para autocompletar usuários por nome e email, sem acesso ao banco.
+ *
+ * <p>Cada usuário recebe um número interno ({@code doc}) e os tokens normalizados (minúsculas, sem
+ * acentos) ficam em um mapa ordenado que aponta para arrays ordenados desses números. Uma consulta por
+ * prefixo é uma faixa desse mapa; com vários termos, o mais longo seleciona os candidatos e os demais
+ * filtram. Todos os candidatos são pontuados antes de cortar em {@code limit}, então o resultado é o
+ * verdadeiro top-K. O índice é montado na subida da aplicação e atualizado pelo
+ * {@link UserProfileChangedEvent} após cada commit.
+ *
+ * <p>O termo mais longo precisa ter ao menos {@code app.search.typeahead.min-prefix-length} caracteres:
+ * prefixos de uma ou duas letras casam com boa parte dos usuários e custariam uma varredura do índice a
+ * cada tecla, então retornam lista vazia.
+ *
+ * <p>O tamanho estimado do índice é limitado por {@code app.search.typeahead.max-memory-mb}. Usuários
+ * que passariam do limite não são indexados (ficam fora das sugestões e são contados em
+ * {@code refused}); o restante do índice continua atendendo.
+ */
+@Slf4j
+@Service
+public class UserTypeaheadIndex {
+
+    private static final int[] NO_DOCS = new int[0];
+    // Estimativas grosseiras de ocupação na heap, usadas só para o limite de memória
+    private static final long USER_OVERHEAD_BYTES = 200;
+    private static final long TOKEN_OVERHEAD_BYTES = 96;
+
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingInt(Match::score)
+            .thenComparingInt(match -> match.user().fullName().length())
+            .thenComparing(match -> match.user().normalizedName());
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final int minPrefixLength;
+    private final long maxBytes;
+
+    // Arrays de postings nunca são alterados depois de publicados: a escrita troca o array do token
+    private final ConcurrentSkipListMap<String, int[]> tokens = new ConcurrentSkipListMap<>();
+    // Posições de docs são gravadas no lugar. IndexedUser é imutável e a consulta confere os tokens do
+    // usuário lido, então uma posição recém-liberada ou reaproveitada não gera sugestão errada
+    private volatile IndexedUser[] docs = new IndexedUser[0];
+    private volatile int indexedUsers;
+    private final LongAdder refused = new LongAdder();
+
+    // Só acessados sob writeLock
+    private final Object writeLock = new Object();
+    private final Map<UUID, Integer> docIds = new HashMap<>();
+    private int[] freeDocs = new int[16];
+    private int freeDocCount;
+    private int nextDoc;
+    private long estimatedBytes;
+
+    private final LongAdder queries = new LongAdder();
+    private volatile boolean ready;
+
+    public UserTypeaheadIndex(
+            UserRepository userRepository,
+            @Value("${app.search.typeahead.enabled:true}") boolean enabled,
+            @Value("${app.search.typeahead.min-prefix-length:3}") int minPrefixLength,
+            @Value("${app.search.typeahead.max-memory-mb:64}") int maxMemoryMb) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.minPrefixLength = Math.max(1, minPrefixLength);
+        this.maxBytes = maxMemoryMb * 1024L * 1024L;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        synchronized (writeLock) {
+            ready = false;
+            clear();
+            refused.reset();
+            // Postings montados em listas primitivas e publicados uma vez; docs crescentes já saem ordenados
+            Map<String, IntList> postings = new HashMap<>();
+            List<IndexedUser> indexed = new ArrayList<>();
+            try (Stream<UserSuggestionResponse> suggestions = userRepository.streamSuggestions()) {
+                for (UserSuggestionResponse suggestion : (Iterable<UserSuggestionResponse>) suggestions::iterator) {
+                    IndexedUser user = IndexedUser.of(
+                            nextDoc, suggestion.getId(), suggestion.getFullName(), suggestion.getEmail());
+                    long bytes = user.estimatedBytes();
+                    for (String token : user.tokens()) {
+                        if (!postings.containsKey(token)) {
+                            bytes += tokenBytes(token);
+                        }
+                    }
+                    if (!fitsBudget(bytes, user.id())) {
+                        continue;
+                    }
+                    nextDoc++;
+                    indexed.add(user);
+                    docIds.put(user.id(), user.doc());
+                    estimatedBytes += bytes;
+                    for (String token : user.tokens()) {
+                        postings.computeIfAbsent(token, key -> new IntList()).add(user.doc());
+                    }
+                }
+            }
+            postings.forEach((token, docList) -> tokens.put(token, docList.toArray()));
+            docs = indexed.toArray(IndexedUser[]::new);
+            indexedUsers = indexed.size();
+            ready = true;
+        }
+        log.info("Índice de autocompletar montado com {} usuários ({} fora do limite de memória) e {} tokens (~{} KB) em {} ms",
+                indexedUsers, refused.sum(), tokens.size(), estimatedBytes / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (writeLock) {
+            if (!ready) {
+                return;
+            }
+            if (event.isRemoved()) {
+                unindex(event.id());
+            } else {
+                index(event.id(), event.fullName(), event.email());
+            }
+        }
+    }
+
+    /**
+     * Retorna até {@code limit} usuários cujo nome ou email tem tokens começando com todos os termos da consulta.
+     * Acentos e maiúsculas são ignorados. Consultas cujo termo mais longo é menor que o prefixo mínimo
+     * retornam lista vazia.
+     */
+    public List<UserSuggestionResponse> suggest(String query, int limit) {
+        if (!enabled || !ready || query == null || query.isBlank() || limit < 1) {
+            return List.of();
+        }
+
+        String[] terms = UserSpecification.normalize(query).trim().split("\\s+");
+        String selective = terms[0];
+        for (String term : terms) {
+            if (term.length() > selective.length()) {
+                selective = term;
+            }
+        }
+        if (selective.length() < minPrefixLength) {
+            return List.of();
+        }
+        queries.increment();
+        String normalizedQuery = String.join(" ", terms);
+
+        IndexedUser[] snapshot = docs;
+        PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+
+        for (Map.Entry<String, int[]> entry : tokens.subMap(selective, true, selective + Character.MAX_VALUE, false).entrySet()) {
+            for (int doc : entry.getValue()) {
+                IndexedUser user = doc < snapshot.length ? snapshot[doc] : null;
+                // Um usuário aparece em vários tokens da faixa (ex.: nome e parte do email): só o menor deles o avalia
+                if (user == null || !entry.getKey().equals(user.firstTokenStartingWith(selective))
+                        || !user.matchesAll(terms)) {
+                    continue;
+                }
+                top.add(new Match(user, user.score(normalizedQuery, terms)));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        List<Match> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        return ranked.stream()
+                .map(match -> new UserSuggestionResponse(match.user().id(), match.user().fullName(), match.user().email()))
+                .toList();
+    }
+
+    public TypeaheadStats stats() {
+        long bytes;
+        synchronized (writeLock) {
+            bytes = estimatedBytes;
+        }
+        return new TypeaheadStats(ready, indexedUsers, refused.sum(), tokens.size(), queries.sum(), bytes, maxBytes);
+    }
+
+    private void index(UUID id, String fullName, String email) {
+        // Remove a versão anterior mesmo se a nova não couber: melhor ausente que com nome ou email antigo
+        unindex(id);
+        IndexedUser candidate = IndexedUser.of(-1, id, fullName, email);
+        long bytes = candidate.estimatedBytes();
+        for (String token : candidate.tokens()) {
+            if (!tokens.containsKey(token)) {
+                bytes += tokenBytes(token);
+            }
+        }
+        if (!fitsBudget(bytes, id)) {
+            return;
+        }
+        IndexedUser user = candidate.withDoc(allocateDoc());
+        estimatedBytes += bytes;
+
+        if (user.doc() >= docs.length) {
+            docs = Arrays.copyOf(docs, Math.max(16, docs.length * 2));
+        }
+        docs[user.doc()] = user;
+        docIds.put(id, user.doc());
+        indexedUsers++;
+        for (String token : user.tokens()) {
+            tokens.compute(token, (key, postings) -> insert(postings != null ? postings : NO_DOCS, user.doc()));
+        }
+    }
+
+    private void unindex(UUID id) {
+        Integer doc = docIds.remove(id);
+        if (doc == null) {
+            return;
+        }
+        IndexedUser previous = docs[doc];
+        for (String token : previous.tokens()) {
+            tokens.computeIfPresent(token, (key, postings) -> {
+                int[] remaining = remove(postings, doc);
+                if (remaining.length == 0) {
+                    estimatedBytes -= tokenBytes(key);
+                    return null;
+                }
+                return remaining;
+            });
+        }
+        docs[doc] = null;
+        estimatedBytes -= previous.estimatedBytes();
+        indexedUsers--;
+        if (freeDocCount == freeDocs.length) {
+            freeDocs = Arrays.copyOf(freeDocs, freeDocs.length * 2);
+        }
+        freeDocs[freeDocCount++] = doc;
+    }
+
+    private int allocateDoc() {
+        return freeDocCount > 0 ? freeDocs[--freeDocCount] : nextDoc++;
+    }
+
+    /**
+     * Verdadeiro se a entrada cabe no limite de memória; senão conta a recusa e avisa na primeira.
+     */
+    private boolean fitsBudget(long bytes, UUID id) {
+        if (estimatedBytes + bytes <= maxBytes) {
+            return true;
+        }
+        refused.increment();
+        if (refused.sum() == 1) {
+            log.warn("Índice de autocompletar no limite de {} MB; o usuário {} e os próximos que não couberem ficam fora das sugestões. " +
+                    "Aumente app.search.typeahead.max-memory-mb", maxBytes / (1024 * 1024), id);
+        }
+        return false;
+    }
+
+    private void clear() {
+        tokens.clear();
+        docs = new IndexedUser[0];
+        indexedUsers = 0;
+        docIds.clear();
+        freeDocCount = 0;
+        nextDoc = 0;
+        estimatedBytes = 0;
+    }
+
+    private static long tokenBytes(String token) {
+        return TOKEN_OVERHEAD_BYTES + 2L * token.length();
+    }
+
+    /**
+     * Cópia ordenada de {@code postings} com {@code doc}.
+     */
+    private static int[] insert(int[] postings, int doc) {
+        int position = Arrays.binarySearch(postings, doc);
+        if (position >= 0) {
+            return postings;
+        }
+        position = -position - 1;
+        int[] copy = new int[postings.length + 1];
+        System.arraycopy(postings, 0, copy, 0, position);
+        copy[position] = doc;
+        System.arraycopy(postings, position, copy, position + 1, postings.length - position);
+        return copy;
+    }
+
+    /**
+     * Cópia de {@code postings} sem {@code doc}.
+     */
+    private static int[] remove(int[] postings, int doc) {
+        int position = Arrays.binarySearch(postings, doc);
+        if (position < 0) {
+            return postings;
+        }
+        int[] copy = new int[postings.length - 1];
+        System.arraycopy(postings, 0, copy, 0, position);
+        System.arraycopy(postings, position + 1, copy, position, postings.length - position - 1);
+        return copy;
+    }
+
+    /**
+     * Estatísticas do índice de autocompletar.
+     */
+    public record TypeaheadStats(boolean ready, long users, long refused, long tokens, long queries, long estimatedBytes,
+                                 long maxBytes) {
+    }
+
+    private record Match(IndexedUser user, int score) {
+    }
+
+    /**
+     * Lista de inteiros sem boxing, usada para montar os postings.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private record IndexedUser(int doc, UUID id, String fullName, String email, String normalizedName, String[] tokens) {
+
+        private static IndexedUser of(int doc, UUID id, String fullName, String email) {
+            String normalizedName = UserSpecification.normalize(fullName);
+            String normalizedEmail = UserSpecification.normalize(email);
+
+            Set<String> tokens = new LinkedHashSet<>();
+            for (String word : normalizedName.split("\\s+")) {
+                if (!word.isEmpty()) {
+                    tokens.add(word);
+                }
+            }
+            // Email completo e as partes do usuário (joao.silva@... -> joao, silva)
+            tokens.add(normalizedEmail);
+            String localPart = normalizedEmail.substring(0, Math.max(0, normalizedEmail.indexOf('@')));
+            for (String part : localPart.split("[._+-]")) {
+                if (!part.isEmpty()) {
+                    tokens.add(part);
+                }
+            }
+            return new IndexedUser(doc, id, fullName, email, normalizedName, tokens.toArray(String[]::new));
+        }
+
+        private long estimatedBytes() {
+            long chars = fullName.length() + email.length() + normalizedName.length();
+            for (String token : tokens) {
+                chars += token.length();
+            }
+            // Textos em UTF-16 e uma posição de 4 bytes por token nos postings
+            return USER_OVERHEAD_BYTES + 2 * chars + 12L * tokens.length;
+        }
+
+        private IndexedUser withDoc(int doc) {
+            return new IndexedUser(doc, id, fullName, email, normalizedName, tokens);
+        }
+
+        /**
+         * Menor token (em ordem lexicográfica) que começa com o prefixo, ou {@code null}.
+         */
+        private String firstTokenStartingWith(String prefix) {
+            String first = null;
+            for (String token : tokens) {
+                if (token.startsWith(prefix) && (first == null || token.compareTo(first) < 0)) {
+                    first = token;
+                }
+            }
+            return first;
+        }
+
+        private boolean matchesAll(String[] terms) {
+            for (String term : terms) {
+                if (!hasTokenStartingWith(term)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean hasTokenStartingWith(String term) {
+            for (String token : tokens) {
+                if (token.startsWith(term)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Menor é melhor: nome começando pela consulta, depois termos que casam com tokens inteiros.
+         */
+        private int score(String normalizedQuery, String[] terms) {
+            int score = normalizedName.startsWith(normalizedQuery) ? 0 : terms.length + 1;
+            for (String term : terms) {
+                boolean exact = false;
+                for (String token : tokens) {
+                    if (token.equals(term)) {
+                        exact = true;
+                        break;
+                    }
+                }
+                if (!exact) {
+                    score++;
+                }
+            }
+            return score;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resultado imutável de um JWT cuja assinatura e expiração já foram verificadas.
+ * Evita que o mesmo token seja decodificado mais de uma vez por requisição.
+ *
+ * @param tokenId    Identificador único do token (claim jti)
+ * @param subject    Email do usuário (claim sub)
+ * @param userId     ID do usuário (claim uid), ausente em refresh tokens
+ * @param roles      Nomes das roles (claim roles), vazio em refresh tokens
+ * @param expiration Instante de expiração (claim exp)
+ * @param type       Tipo do token ("access" ou "refresh")
+ * @param familyId   Família de rotação do refresh token (claim fid), ausente em access tokens
+ */
+public record VerifiedToken(
+        String tokenId,
+        String subject,
+        UUID userId,
+        List<String> roles,
+        Instant expiration,
+        String type,
+        UUID familyId
+) {
+
+    public static final String ACCESS_TYPE = "access";
+    public static final String REFRESH_TYPE = "refresh";
+
+    public VerifiedToken {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+        type = type != null ? type : ACCESS_TYPE;
+    }
+
+    public boolean isAccessToken() {
+        return ACCESS_TYPE.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return REFRESH_TYPE.equals(type);
+    }
+
+    public boolean isExpired() {
+        return expiration.isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,191 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU limitado de tokens já verificados, indexado pelo SHA-256 do token bruto.
+ * Requisições repetidas com o mesmo access token evitam a verificação HMAC e a
+ * decodificação do JSON até o instante de expiração do token.
+ *
+ * <p>O cache é dividido em segmentos, cada um com seu próprio lock e capacidade fixa,
+ * de modo que o total nunca ultrapassa {@code app.jwt.cache.max-entries} entradas nem
+ * {@code app.jwt.cache.max-memory-mb} de tamanho estimado. Tokens com muitas roles ou
+ * emails longos ocupam mais espaço e reduzem o número de entradas mantidas.
+ */
+@Service
+@RequiredArgsConstructor
+public class VerifiedTokenCache {
+
+    private static final int SEGMENTS = 16;
+
+    // Entrada do LinkedHashMap, chave SHA-256 em ByteBuffer, record, Instant e UUIDs
+    private static final long ENTRY_OVERHEAD_BYTES = 280;
+    private static final long STRING_OVERHEAD_BYTES = 48;
+    private static final long REFERENCE_BYTES = 8;
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Value("${app.jwt.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jwt.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.jwt.cache.max-memory-mb:8}")
+    private long maxMemoryMb;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(VerifiedTokenCache::newDigest);
+
+    private Segment[] segments;
+
+    @PostConstruct
+    void init() {
+        int segmentCapacity = Math.max(1, maxEntries / SEGMENTS);
+        long segmentMaxBytes = Math.max(1, maxMemoryMb * 1024L * 1024L / SEGMENTS);
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentCapacity, segmentMaxBytes);
+        }
+    }
+
+    /**
+     * Retorna o token verificado do cache ou delega a verificação ao {@link JwtTokenProvider}.
+     */
+    public VerifiedToken verify(String token) {
+        if (!enabled) {
+            return jwtTokenProvider.verify(token);
+        }
+
+        ByteBuffer key = ByteBuffer.wrap(digests.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+        Segment segment = segments[(key.hashCode() & Integer.MAX_VALUE) % SEGMENTS];
+
+        VerifiedToken cached = segment.get(key);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                hits.increment();
+                return cached;
+            }
+            segment.remove(key);
+        }
+
+        misses.increment();
+        VerifiedToken verified = jwtTokenProvider.verify(token);
+        segment.put(key, verified);
+        return verified;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public TokenCacheStats stats() {
+        long size = 0;
+        long bytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+                bytes += segment.estimatedBytes;
+            }
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        double hitRatio = requests == 0 ? 0.0 : (double) hitCount / requests;
+        return new TokenCacheStats(hitCount, missCount, evictions.sum(), size, (long) SEGMENTS * segments[0].capacity,
+                bytes, SEGMENTS * segments[0].maxBytes, hitRatio);
+    }
+
+    private static long estimateBytes(VerifiedToken token) {
+        long bytes = ENTRY_OVERHEAD_BYTES + stringBytes(token.tokenId()) + stringBytes(token.subject());
+        for (String role : token.roles()) {
+            bytes += REFERENCE_BYTES + stringBytes(role);
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value != null ? STRING_OVERHEAD_BYTES + 2L * value.length() : 0;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 não disponível", ex);
+        }
+    }
+
+    /**
+     * Estatísticas do cache de tokens verificados.
+     */
+    public record TokenCacheStats(
+            long hits,
+            long misses,
+            long evictions,
+            long size,
+            long maxEntries,
+            long estimatedBytes,
+            long maxBytes,
+            double hitRatio
+    ) {
+    }
+
+    private final class Segment {
+
+        private final int capacity;
+        private final long maxBytes;
+        private final LinkedHashMap<ByteBuffer, VerifiedToken> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long estimatedBytes;
+
+        private Segment(int capacity, long maxBytes) {
+            this.capacity = capacity;
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized VerifiedToken get(ByteBuffer key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(ByteBuffer key, VerifiedToken token) {
+            VerifiedToken previous = entries.put(key, token);
+            estimatedBytes += estimateBytes(token) - (previous != null ? estimateBytes(previous) : 0);
+
+            // Remove as entradas menos usadas até voltar aos limites de quantidade e de tamanho
+            Iterator<VerifiedToken> eldest = entries.values().iterator();
+            while ((entries.size() > capacity || estimatedBytes > maxBytes) && eldest.hasNext()) {
+                estimatedBytes -= estimateBytes(eldest.next());
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        synchronized void remove(ByteBuffer key) {
+            VerifiedToken removed = entries.remove(key);
+            if (removed != null) {
+                estimatedBytes -= estimateBytes(removed);
+            }
+        }
+
+        synchronized void clear() {
+            entries.clear();
+            estimatedBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+-- Índices de busca textual, exigidos pelos filtros de UserSpecification.
+-- Passo de implantação, executado uma vez por banco após o Hibernate criar a tabela users e antes de
+-- liberar o tráfego, com um usuário que possa criar extensões:
+--   psql -d nutricion_clinic -f src/main/resources/db/search-indexes.sql
+-- Em desenvolvimento, SQL_INIT_MODE=always o executa a cada inicialização (spring.sql.init).
+-- Todos os comandos são idempotentes. Em uma tabela já populada, prefira CREATE INDEX CONCURRENTLY
+-- executado manualmente, para não bloquear escritas durante a criação dos índices.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() é STABLE e não pode ser usada em índices; o wrapper com dicionário explícito é IMMUTABLE
+CREATE OR REPLACE FUNCTION immutable_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+-- Mesmas expressões geradas por UserSpecification, para que LIKE '%termo%' e similarity() usem o índice
+CREATE INDEX IF NOT EXISTS idx_users_full_name_trgm
+    ON users USING gin (immutable_unaccent(lower(full_name)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm
+    ON users USING gin (lower(email) gin_trgm_ops);
@@ -0,0 +1,145 @@
+package com.vitorbastosbn.nutricionista.config;
+
+import com.vitorbastosbn.nutricionista.service.AuthorizationMetrics;
+import com.vitorbastosbn.nutricionista.service.AuthorizationMetrics.EvaluationMode;
+import com.vitorbastosbn.nutricionista.service.Permission;
+import com.vitorbastosbn.nutricionista.service.PermissionCatalog;
+import com.vitorbastosbn.nutricionista.service.UserPrincipal;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.DefaultAuthorizationManagerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Garante que a verificação por bitset ({@code can('USER_DELETE')}) decide igual à verificação por
+ * roles ({@code hasRole('ADMIN')}), avaliando a expressão completa como o {@code @PreAuthorize} faz, e
+ * que a expressão compilada volta a ser interpretada quando o código compilado falha.
+ */
+class PermissionCheckTests {
+
+	private final MethodInvocation invocation = new SimpleMethodInvocation(new Object(), objectToString());
+
+	@Test
+	void permissionBitsetMatchesRoleCheckForAdminOnlyOperations() {
+		MethodSecurityExpressionHandler roleHandler = roleHandler();
+		MethodSecurityExpressionHandler permissionHandler = permissionHandler(true);
+		Expression hasRole = roleHandler.getExpressionParser().parseExpression("hasRole('ADMIN')");
+		Expression can = permissionHandler.getExpressionParser().parseExpression("can('USER_DELETE')");
+
+		for (String[] roles : new String[][]{
+				{"ROLE_USER"},
+				{"ROLE_USER", "ROLE_RECEPTIONIST"},
+				{"ROLE_USER", "ROLE_NUTRITIONIST"},
+				{"ROLE_ADMIN"},
+				{"ROLE_USER", "ROLE_ADMIN"}}) {
+			Authentication authentication = authentication(roles);
+			assertEquals(
+					evaluate(roleHandler, hasRole, authentication),
+					evaluate(permissionHandler, can, authentication),
+					"Decisões diferentes para " + String.join(",", roles));
+		}
+	}
+
+	@Test
+	void hierarchyGrantsInheritedPermissions() {
+		UserPrincipal admin = principal("ROLE_ADMIN");
+		UserPrincipal receptionist = principal("ROLE_RECEPTIONIST");
+
+		for (Permission permission : Permission.values()) {
+			assertTrue(admin.hasPermission(permission), permission.name());
+		}
+		assertTrue(receptionist.hasPermission(Permission.USER_WRITE));
+		assertFalse(receptionist.hasPermission(Permission.USER_EXPORT));
+		assertFalse(principal("ROLE_USER").hasPermission(Permission.USER_READ));
+		assertFalse(principal("ROLE_DESCONHECIDA").hasPermission(Permission.USER_READ));
+	}
+
+	@Test
+	void unknownPermissionIsRejectedWhenParsing() {
+		ExpressionParser parser = permissionHandler(true).getExpressionParser();
+
+		assertThrows(ParseException.class, () -> parser.parseExpression("can('USER_READ') or canAny('USER_WRITE', 'NAO_EXISTE')"));
+	}
+
+	@Test
+	void compiledExpressionFallsBackToInterpreterWhenPrincipalTypeChanges() {
+		AuthorizationMetrics metrics = new AuthorizationMetrics();
+		PermissionMethodSecurityExpressionHandler handler = new PermissionMethodSecurityExpressionHandler(metrics, true);
+		handler.setAuthorizationManagerFactory(authorizationManagerFactory());
+		// Compilada com o tipo do primeiro principal (UserPrincipal)
+		Expression expression = handler.getExpressionParser().parseExpression("principal.toString() != null");
+
+		assertTrue(evaluate(handler, expression, authentication("ROLE_USER")));
+		assertEquals(EvaluationMode.COMPILED, mode(metrics, "principal.toString() != null"));
+
+		Authentication anonymous = UsernamePasswordAuthenticationToken.authenticated("anonymousUser", null, List.of());
+		assertTrue(evaluate(handler, expression, anonymous));
+		assertEquals(EvaluationMode.FALLBACK, mode(metrics, "principal.toString() != null"));
+		assertTrue(evaluate(handler, expression, authentication("ROLE_USER")));
+	}
+
+	private boolean evaluate(MethodSecurityExpressionHandler handler, Expression expression, Authentication authentication) {
+		EvaluationContext context = handler.createEvaluationContext(() -> authentication, invocation);
+		return Boolean.TRUE.equals(expression.getValue(context, Boolean.class));
+	}
+
+	private static MethodSecurityExpressionHandler roleHandler() {
+		DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+		handler.setAuthorizationManagerFactory(authorizationManagerFactory());
+		return handler;
+	}
+
+	private static MethodSecurityExpressionHandler permissionHandler(boolean compileExpressions) {
+		PermissionMethodSecurityExpressionHandler handler =
+				new PermissionMethodSecurityExpressionHandler(new AuthorizationMetrics(), compileExpressions);
+		handler.setAuthorizationManagerFactory(authorizationManagerFactory());
+		return handler;
+	}
+
+	private static DefaultAuthorizationManagerFactory<MethodInvocation> authorizationManagerFactory() {
+		DefaultAuthorizationManagerFactory<MethodInvocation> factory = new DefaultAuthorizationManagerFactory<>();
+		factory.setRoleHierarchy(PermissionCatalog.roleHierarchy());
+		return factory;
+	}
+
+	private static EvaluationMode mode(AuthorizationMetrics metrics, String expression) {
+		return metrics.stats().expressions().stream()
+				.filter(stats -> stats.expression().equals(expression))
+				.findFirst()
+				.orElseThrow()
+				.mode();
+	}
+
+	private static Authentication authentication(String... roles) {
+		UserPrincipal principal = principal(roles);
+		return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.authorityList());
+	}
+
+	private static UserPrincipal principal(String... roles) {
+		return new UserPrincipal(UUID.randomUUID(), "permissao@teste.com", List.of(roles));
+	}
+
+	private static java.lang.reflect.Method objectToString() {
+		try {
+			return Object.class.getMethod("toString");
+		} catch (NoSuchMethodException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.vitorbastosbn.nutricionista.controller;
+
+import com.vitorbastosbn.nutricionista.service.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Garante que os {@code @PreAuthorize} dos endpoints administrativos são aplicados: um usuário
+ * comum recebe 403 antes de o controller executar.
+ */
+@SpringBootTest
+class MethodSecurityTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context)
+				.apply(springSecurity())
+				.build();
+	}
+
+	@Test
+	void regularUserIsForbiddenOnAdminEndpoints() throws Exception {
+		List<MockHttpServletRequestBuilder> requests = List.of(
+				get("/api/metrics/token-cache"),
+				get("/api/metrics/authorization"),
+				get("/api/roles"),
+				get("/users"),
+				get("/users/cursor"),
+				get("/users/autocomplete").param("q", "ana"),
+				get("/users/export"),
+				post("/users/import").contentType("text/csv").content("email,fullName,password\n"),
+				post("/users/roles/bulk").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"userIds\": [\"" + UUID.randomUUID() + "\"], \"assign\": [\"" + UUID.randomUUID() + "\"]}"));
+
+		for (MockHttpServletRequestBuilder request : requests) {
+			mockMvc.perform(request.with(authentication(authenticationFor("ROLE_USER"))))
+					.andExpect(status().isForbidden());
+		}
+	}
+
+	@Test
+	void adminCanReadMetrics() throws Exception {
+		mockMvc.perform(get("/api/metrics/token-cache").with(authentication(authenticationFor("ROLE_ADMIN"))))
+				.andExpect(status().isOk());
+	}
+
+	private static UsernamePasswordAuthenticationToken authenticationFor(String role) {
+		UserPrincipal principal = new UserPrincipal(UUID.randomUUID(), role.toLowerCase() + "@teste.com", List.of(role));
+		return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.authorityList());
+	}
+}
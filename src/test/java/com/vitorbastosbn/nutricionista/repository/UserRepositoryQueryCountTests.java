@@ -0,0 +1,57 @@
+package com.vitorbastosbn.nutricionista.repository;
+
+import com.vitorbastosbn.nutricionista.entity.Role;
+import com.vitorbastosbn.nutricionista.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class UserRepositoryQueryCountTests {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void loginLookupLoadsUserAndRolesInOneStatement() {
+		Role user = Role.builder().name("ROLE_LOGIN_QUERY_USER").description("Role de teste").build();
+		Role admin = Role.builder().name("ROLE_LOGIN_QUERY_ADMIN").description("Role de teste").build();
+		entityManager.persist(user);
+		entityManager.persist(admin);
+		entityManager.persist(User.builder()
+				.email("login-query-count@teste.com")
+				.fullName("Usuário Login")
+				.password("{noop}senha")
+				.roles(new HashSet<>(Set.of(user, admin)))
+				.build());
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		User loaded = userRepository.findWithRolesByEmail("login-query-count@teste.com").orElseThrow();
+
+		// Authorities montadas no login, sem ida extra ao banco para as roles
+		assertEquals(2, loaded.getAuthorities().size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.vitorbastosbn.nutricionista.service;
+
+import com.vitorbastosbn.nutricionista.domain.dto.request.CountMode;
+import com.vitorbastosbn.nutricionista.domain.dto.response.UserResponse;
+import com.vitorbastosbn.nutricionista.entity.Address;
+import com.vitorbastosbn.nutricionista.entity.Contact;
+import com.vitorbastosbn.nutricionista.entity.Role;
+import com.vitorbastosbn.nutricionista.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class UserServiceQueryCountTests {
+
+	private static final int PAGE_SIZE = 10;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void getAllUsersRunsConstantNumberOfStatementsPerPage() {
+		Role role = Role.builder().name("ROLE_QUERY_COUNT").description("Role de teste").build();
+		entityManager.persist(role);
+
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			Address address = Address.builder().city("Cidade " + i).street("Rua " + i).build();
+			Contact contact = Contact.builder()
+					.phoneNumber("1199999000" + i)
+					.emergencyContact("Contato " + i)
+					.emergencyPhone("1198888000" + i)
+					.whatsapp(true)
+					.build();
+			entityManager.persist(address);
+			entityManager.persist(contact);
+
+			entityManager.persist(User.builder()
+					.email("query-count-" + i + "@teste.com")
+					.fullName("Usuário " + i)
+					.password("{noop}senha")
+					.address(address)
+					.contact(contact)
+					.roles(new HashSet<>(Set.of(role)))
+					.build());
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		Slice<UserResponse> page = userService.getAllUsers(null, "query-count-", null, PageRequest.of(0, PAGE_SIZE), CountMode.EXACT);
+
+		assertEquals(PAGE_SIZE, page.getNumberOfElements());
+		page.forEach(user -> {
+			assertNotNull(user.getAddress());
+			assertNotNull(user.getContact());
+			assertEquals(1, user.getRoles().size());
+		});
+		// Ids da página, count e projeção das linhas, independente do tamanho da página
+		assertEquals(3, statistics.getPrepareStatementCount());
+		// Nenhuma entidade gerenciada é hidratada na listagem
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+}
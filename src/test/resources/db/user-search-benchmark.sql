@@ -0,0 +1,59 @@
+-- Benchmark manual da busca de usuários com 1 milhão de linhas.
+-- Executar com psql em um banco onde a aplicação já subiu (tabela users e db/search-indexes.sql aplicados):
+--   psql -d nutricion_clinic -f src/test/resources/db/user-search-benchmark.sql
+-- Os dados ficam em um schema separado, removido ao final.
+
+\timing on
+
+DROP SCHEMA IF EXISTS search_benchmark CASCADE;
+CREATE SCHEMA search_benchmark;
+
+-- Copia colunas e índices (inclusive os índices trigram) da tabela real
+CREATE TABLE search_benchmark.users (LIKE public.users INCLUDING ALL);
+
+INSERT INTO search_benchmark.users (id, email, full_name, password)
+SELECT gen_random_uuid(),
+       'usuario' || n || '@exemplo.com.br',
+       (ARRAY['João', 'José', 'Maria', 'Conceição', 'Antônio', 'Luíza', 'Sebastião', 'Ângela', 'Márcio', 'Inês'])[1 + n % 10]
+           || ' ' ||
+       (ARRAY['Silva', 'Gonçalves', 'Araújo', 'Assunção', 'Conceição', 'Simões', 'Magalhães', 'Brandão', 'Estêvão', 'Pereira'])[1 + (n / 10) % 10]
+           || ' ' || n,
+       '{bcrypt}$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchmark'
+FROM generate_series(1, 1000000) AS n;
+
+ANALYZE search_benchmark.users;
+
+SET search_path = search_benchmark, public;
+
+-- Filtro fullName sem acentos (UserSpecification.hasFullName): esperado Bitmap Index Scan em idx_users_full_name_trgm
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM users
+WHERE immutable_unaccent(lower(full_name)) LIKE '%conceicao assuncao%'
+ORDER BY id
+LIMIT 10;
+
+-- Filtro email (UserSpecification.hasEmail)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM users
+WHERE lower(email) LIKE '%usuario99999%'
+ORDER BY id
+LIMIT 10;
+
+-- Busca geral ordenada por relevância (searchByFullNameOrEmail + orderByRelevance)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM users
+WHERE immutable_unaccent(lower(full_name)) LIKE '%sebastiao magalhaes%'
+   OR lower(email) LIKE '%sebastiao magalhaes%'
+ORDER BY greatest(similarity(immutable_unaccent(lower(full_name)), 'sebastiao magalhaes'),
+                  similarity(lower(email), 'sebastiao magalhaes')) DESC, id
+LIMIT 10;
+
+-- Referência: a mesma busca no formato anterior, lower(col) LIKE, sem índice utilizável (scan sequencial)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM users
+WHERE lower(full_name) LIKE '%conceição assunção%'
+ORDER BY id
+LIMIT 10;
+
+RESET search_path;
+DROP SCHEMA search_benchmark CASCADE;